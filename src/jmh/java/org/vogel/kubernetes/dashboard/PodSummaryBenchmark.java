@@ -0,0 +1,110 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ContainerPort;
+import io.kubernetes.client.models.V1ContainerState;
+import io.kubernetes.client.models.V1ContainerStateRunning;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1EmptyDirVolumeSource;
+import io.kubernetes.client.models.V1EnvVar;
+import io.kubernetes.client.models.V1HTTPGetAction;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodCondition;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodStatus;
+import io.kubernetes.client.models.V1Probe;
+import io.kubernetes.client.models.V1ResourceRequirements;
+import io.kubernetes.client.models.V1Toleration;
+import io.kubernetes.client.models.V1Volume;
+import io.kubernetes.client.models.V1VolumeMount;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PodSummaryBenchmark {
+    private V1Pod pod;
+
+    // a pod with two containers, env, probes, resources, volumes and tolerations, as a typical deployment makes
+    @Setup
+    public void setUp() {
+        List<V1Container> containers = new ArrayList<>();
+        List<V1ContainerStatus> statuses = new ArrayList<>();
+        for (String name : new String[]{"web", "sidecar"}) {
+            List<V1EnvVar> env = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                env.add(new V1EnvVar().name("VARIABLE_" + i)
+                                .value("value-" + i));
+            }
+            containers.add(new V1Container().name(name)
+                                   .image("example.com/" + name + ":1.0")
+                                   .ports(Collections.singletonList(new V1ContainerPort().containerPort(8080)
+                                                                            .protocol("TCP")))
+                                   .env(env)
+                                   .resources(new V1ResourceRequirements().putLimitsItem("cpu", new Quantity("500m"))
+                                                      .putRequestsItem("memory", new Quantity("256Mi")))
+                                   .livenessProbe(new V1Probe().httpGet(new V1HTTPGetAction().path("/health")
+                                                                                .port(new IntOrString(8080))))
+                                   .volumeMounts(Collections.singletonList(new V1VolumeMount().name("cache")
+                                                                                   .mountPath("/cache"))));
+            statuses.add(new V1ContainerStatus().name(name)
+                                 .ready(true)
+                                 .restartCount(1)
+                                 .state(new V1ContainerState().running(
+                                         new V1ContainerStateRunning().startedAt(DateTime.now())))
+                                 .lastState(new V1ContainerState()));
+        }
+        pod = new V1Pod().metadata(new V1ObjectMeta().name("web-5d8f9c7b6-x2x7z")
+                                           .namespace("default")
+                                           .uid("2f6a5a8e-68a4-11e8-a8d3-080027b3d4b8")
+                                           .putLabelsItem("app", "web")
+                                           .putLabelsItem("pod-template-hash", "5d8f9c7b6")
+                                           .creationTimestamp(DateTime.now()
+                                                                      .minusHours(5)))
+                .spec(new V1PodSpec().containers(containers)
+                              .nodeName("node-1")
+                              .volumes(Collections.singletonList(new V1Volume().name("cache")
+                                                                         .emptyDir(new V1EmptyDirVolumeSource())))
+                              .tolerations(Collections.singletonList(
+                                      new V1Toleration().key("node.kubernetes.io/not-ready")
+                                              .effect("NoExecute")
+                                              .tolerationSeconds(300L))))
+                .status(new V1PodStatus().phase("Running")
+                                .containerStatuses(statuses)
+                                .conditions(Collections.singletonList(new V1PodCondition().type("Ready")
+                                                                              .status("True")))
+                                .qosClass("Burstable"));
+    }
+
+    // what every row of the pod list used to cost
+    @Benchmark
+    public Pod pod() {
+        return new Pod(pod);
+    }
+
+    @Benchmark
+    public PodSummary podSummary() {
+        return new PodSummary(pod);
+    }
+}
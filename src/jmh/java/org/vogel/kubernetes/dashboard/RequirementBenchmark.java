@@ -0,0 +1,65 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1LabelSelector;
+import io.kubernetes.client.models.V1LabelSelectorRequirement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequirementBenchmark {
+    private static final int DISTINCT_KEYS = 16384;
+
+    private V1LabelSelector labelSelector;
+    private String[] distinctKeys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> matchLabels = new LinkedHashMap<>();
+        matchLabels.put("app.kubernetes.io/name", "kube-dashboard");
+        matchLabels.put("app.kubernetes.io/instance", "kube-dashboard-prod");
+        matchLabels.put("tier", "web");
+        V1LabelSelectorRequirement expression = new V1LabelSelectorRequirement().key("environment")
+                .operator("In")
+                .values(Arrays.asList("production", "staging"));
+        labelSelector = new V1LabelSelector().matchLabels(matchLabels)
+                .matchExpressions(Collections.singletonList(expression));
+
+        distinctKeys = new String[DISTINCT_KEYS];
+        for (int i = 0; i < DISTINCT_KEYS; i++) {
+            distinctKeys[i] = String.format("team-%d.example.com/component-%d", i, i);
+        }
+    }
+
+    // a Deployment or ReplicaSet selector as it is formatted for every row of a list page
+    @Benchmark
+    public String formatLabelSelector() {
+        return FormatUtils.formatLabelSelector(labelSelector);
+    }
+
+    // keys that are never seen twice within the cache size, so every one is validated in full
+    @Benchmark
+    public Requirement distinctKey() throws RequirementException {
+        String key = distinctKeys[next++ & (DISTINCT_KEYS - 1)];
+        return new Requirement(key, "=", Collections.singletonList("value"));
+    }
+}
@@ -0,0 +1,212 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.map.LRUMap;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.ResourceExecutors.ApiCall;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// keeps the last good answer of every api read and a circuit breaker for every api method, while a method is failing
+// its reads are answered from the last good answers and refreshed by one background call per answer once the breaker
+// lets a call through again
+@Slf4j
+@Component
+public class ApiFallback {
+
+    private static final ThreadLocal<DateTime> STALE_SINCE = new ThreadLocal<>();
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, LastGood> lastGood;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final SingleFlight singleFlight;
+    private final ScheduledExecutorService revalidator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-revalidator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int failureThreshold;
+    private final long openMillis;
+
+    public ApiFallback(SingleFlight singleFlight,
+                       @Value("${dashboard.api.breaker.failure-threshold:5}") int failureThreshold,
+                       @Value("${dashboard.api.breaker.open-seconds:30}") long openSeconds,
+                       @Value("${dashboard.api.last-good.max-size:512}") int maxSize) {
+        this.singleFlight = singleFlight;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = TimeUnit.SECONDS.toMillis(openSeconds);
+        this.lastGood = Collections.synchronizedMap(new LRUMap<>(Math.max(1, maxSize)));
+    }
+
+    // the oldest last good answer used on this thread since the previous call, or null when everything was fresh
+    public static DateTime takeStaleSince() {
+        DateTime staleSince = STALE_SINCE.get();
+        STALE_SINCE.remove();
+        return staleSince;
+    }
+
+    // the same as takeStaleSince, but the answer is kept for the rest of the page
+    public static DateTime peekStaleSince() {
+        return STALE_SINCE.get();
+    }
+
+    public <T> T call(String method, String namespace, String key, ApiCall<T> call) throws ApiException {
+        String cacheKey = String.join("/", method, String.valueOf(namespace), String.valueOf(key));
+        CircuitBreaker breaker = breakers.computeIfAbsent(method,
+                                                          m -> new CircuitBreaker(failureThreshold, openMillis));
+        // only the caller that issues the request records its outcome, so a failed request that several callers
+        // were waiting on counts against the breaker once
+        ApiCall<T> shared = () -> singleFlight.call(method, namespace, key, () -> fetch(cacheKey, breaker, call));
+        if (!breaker.tryAcquire()) {
+            return stale(cacheKey, breaker, shared, new ApiException(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                                                     "Calls to " + method + " are suspended"));
+        }
+
+        try {
+            return shared.call();
+        } catch (ApiException e) {
+            if (!isUnhealthy(e)) {
+                throw e;
+            }
+            return stale(cacheKey, breaker, shared, e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        revalidator.shutdownNow();
+    }
+
+    private <T> T fetch(String cacheKey, CircuitBreaker breaker, ApiCall<T> call) throws ApiException {
+        try {
+            T result = call.call();
+            breaker.succeeded();
+            lastGood.put(cacheKey, new LastGood(result, DateTime.now()));
+            return result;
+        } catch (ApiException e) {
+            if (isUnhealthy(e)) {
+                breaker.failed();
+            } else {
+                // the api server answered, whatever was kept for this read no longer exists or is no longer allowed
+                breaker.succeeded();
+                lastGood.remove(cacheKey);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.failed();
+            throw e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T stale(String cacheKey, CircuitBreaker breaker, ApiCall<T> call, ApiException e) throws ApiException {
+        LastGood entry = lastGood.get(cacheKey);
+        if (entry == null) {
+            throw e;
+        }
+
+        log.debug("Answering {} from {} after: {}", cacheKey, entry.fetched, e.getMessage());
+        DateTime staleSince = STALE_SINCE.get();
+        if (staleSince == null || entry.fetched.isBefore(staleSince)) {
+            STALE_SINCE.set(entry.fetched);
+        }
+        // while the breaker is still closed the next page load asks the api server again by itself
+        if (breaker.isOpen()) {
+            revalidate(cacheKey, breaker, call);
+        }
+        return (T) entry.value;
+    }
+
+    private <T> void revalidate(String cacheKey, CircuitBreaker breaker, ApiCall<T> call) {
+        if (!revalidating.add(cacheKey)) {
+            return;
+        }
+
+        try {
+            revalidator.schedule(() -> {
+                try {
+                    // when another call is already probing the method, the next stale read schedules this again
+                    if (breaker.tryAcquire()) {
+                        call.call();
+                    }
+                } catch (ApiException | RuntimeException e) {
+                    log.debug("Revalidating {} failed: {}", cacheKey, e.getMessage());
+                } finally {
+                    revalidating.remove(cacheKey);
+                }
+            }, breaker.millisUntilRetry(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(cacheKey);
+        }
+    }
+
+    // connection failures have no status code
+    private static boolean isUnhealthy(ApiException e) {
+        return e.getCode() == 0 || e.getCode() == HttpStatus.TOO_MANY_REQUESTS.value() || e.getCode() >= 500;
+    }
+
+    @AllArgsConstructor
+    private static class LastGood {
+        private final Object value;
+        private final DateTime fetched;
+    }
+
+    // closed until failureThreshold calls in a row fail, then open for openMillis, then half open letting a single
+    // call through to decide whether it closes or opens again
+    private static class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openMillis;
+        private int failures;
+        private long openUntil;
+        private boolean probing;
+
+        CircuitBreaker(int failureThreshold, long openMillis) {
+            this.failureThreshold = failureThreshold;
+            this.openMillis = openMillis;
+        }
+
+        synchronized boolean isOpen() {
+            return failures >= failureThreshold;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (!isOpen()) {
+                return true;
+            } else if (probing || System.currentTimeMillis() < openUntil) {
+                return false;
+            }
+            probing = true;
+            return true;
+        }
+
+        synchronized void succeeded() {
+            failures = 0;
+            probing = false;
+        }
+
+        synchronized void failed() {
+            failures++;
+            probing = false;
+            if (isOpen()) {
+                openUntil = System.currentTimeMillis() + openMillis;
+            }
+        }
+
+        synchronized long millisUntilRetry() {
+            return Math.max(0, openUntil - System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.ResourceExecutors.ApiCall;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+// token bucket in front of the api server, when callers have to wait the interactive ones are let through first
+@Component
+public class ApiRateLimiter {
+
+    public static final String QUEUE_METRIC = "dashboard.api.rate.limiter.queue";
+    public static final String WAITING_METRIC = "dashboard.api.rate.limiter.waiting";
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    public enum Priority {
+        INTERACTIVE, BULK
+    }
+
+    private final double qps;
+    private final int burst;
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing((Waiter waiter) -> waiter.priority)
+                    .thenComparingLong(waiter -> waiter.sequence));
+    private final Map<Priority, Timer> queueTimers = new EnumMap<>(Priority.class);
+    private double tokens;
+    private long refilledAt;
+    private long sequence;
+
+    public ApiRateLimiter(@Value("${dashboard.api.qps:20}") double qps, @Value("${dashboard.api.burst:40}") int burst,
+                          MeterRegistry meterRegistry) {
+        this.qps = qps;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.refilledAt = System.nanoTime();
+        for (Priority priority : Priority.values()) {
+            queueTimers.put(priority, Timer.builder(QUEUE_METRIC)
+                    .tag("priority", priority.name()
+                            .toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder(WAITING_METRIC, this, ApiRateLimiter::getWaiting)
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Priority priority, ApiCall<T> call) throws ApiException {
+        long start = System.nanoTime();
+        acquire(priority);
+        queueTimers.get(priority)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return call.call();
+    }
+
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    // a qps of zero or less turns the limiter off
+    private synchronized void acquire(Priority priority) throws ApiException {
+        if (qps <= 0) {
+            return;
+        }
+
+        Waiter waiter = new Waiter(priority, sequence++);
+        waiters.add(waiter);
+        try {
+            while (waiters.peek() != waiter || !takeToken()) {
+                if (waiters.peek() == waiter) {
+                    long nanos = (long) Math.ceil((1 - tokens) / qps * NANOS_PER_SECOND);
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, nanos));
+                } else {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new ApiException(e);
+        } finally {
+            waiters.remove(waiter);
+            notifyAll();
+        }
+    }
+
+    private boolean takeToken() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) / NANOS_PER_SECOND * qps);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    @AllArgsConstructor
+    private static class Waiter {
+        private final Priority priority;
+        private final long sequence;
+    }
+}
@@ -0,0 +1,166 @@
+package org.vogel.kubernetes.dashboard;
+
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+import io.kubernetes.client.ApiException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.ResourceExecutors.ApiCall;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// where the time of a page goes: the KubernetesUtils calls behind it, the view models built from their answers and
+// the template rendering them
+@Component
+public class DashboardMetrics {
+
+    public static final String CALLS_METRIC = "dashboard.kubernetes.calls";
+    public static final String ITEMS_METRIC = "dashboard.kubernetes.response.items";
+    public static final String BYTES_METRIC = "dashboard.kubernetes.response.bytes";
+    public static final String VIEW_MODELS_METRIC = "dashboard.view.models";
+    public static final String TEMPLATES_METRIC = "dashboard.templates";
+
+    private final MeterRegistry meterRegistry;
+
+    public DashboardMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T time(String kind, String verb, ApiCall<T> call) throws ApiException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Outcome outcome = Outcome.UNKNOWN;
+        try {
+            T result = call.call();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (ApiException e) {
+            // connection failures have no status code and stay unknown
+            outcome = Outcome.forStatus(e.getCode());
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(CALLS_METRIC, "kind", kind, "verb", verb, "outcome", outcome.name()));
+        }
+    }
+
+    public void recordItems(String kind, String verb, int count) {
+        meterRegistry.summary(ITEMS_METRIC, "kind", kind, "verb", verb)
+                .record(count);
+    }
+
+    // the views are built when the page asks for them, which is after an unchanged page has been answered with not
+    // modified, so the returned supplier is timed rather than the call making it
+    public <V> Supplier<V> timedViews(Class<?> type, String verb, Supplier<V> views) {
+        Timer timer = meterRegistry.timer(VIEW_MODELS_METRIC, "type", type.getSimpleName(), "verb", verb);
+        return () -> timer.record(views);
+    }
+
+    public void recordTemplate(String view, long nanos) {
+        meterRegistry.timer(TEMPLATES_METRIC, "view", view)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Interceptor payloadInterceptor() {
+        return chain -> {
+            Response response = chain.proceed(chain.request());
+            HttpUrl url = chain.request()
+                    .httpUrl();
+            String[] resource = resourceOf(url.pathSegments());
+            if (resource == null || response.body() == null || "true".equals(url.queryParameter("watch"))) {
+                return response;
+            }
+
+            DistributionSummary summary = meterRegistry.summary(BYTES_METRIC, "kind", resource[0], "verb",
+                                                                resource[1]);
+            return response.newBuilder()
+                    .body(new CountingBody(response.body(), summary))
+                    .build();
+        };
+    }
+
+    // /api/v1/namespaces/default/pods/web/log is the log of a pod, /apis/apps/v1beta2/namespaces/default/deployments
+    // a list of deployments and /api/v1/persistentvolumes/data a single persistent volume
+    static String[] resourceOf(List<String> segments) {
+        int start;
+        if (segments.size() > 2 && "api".equals(segments.get(0))) {
+            start = 2;
+        } else if (segments.size() > 3 && "apis".equals(segments.get(0))) {
+            start = 3;
+        } else {
+            return null;
+        }
+
+        List<String> resource = segments.subList(start, segments.size());
+        if (resource.size() > 2 && "namespaces".equals(resource.get(0))) {
+            resource = resource.subList(2, resource.size());
+        }
+        if (resource.size() == 1) {
+            return new String[]{resource.get(0), "list"};
+        }
+        return new String[]{resource.get(0), resource.size() > 2 ? resource.get(2) : "get"};
+    }
+
+    private static class CountingBody extends ResponseBody {
+        private final ResponseBody body;
+        private final BufferedSource source;
+
+        private CountingBody(ResponseBody body, DistributionSummary summary) throws IOException {
+            this.body = body;
+            this.source = Okio.buffer(new ForwardingSource(body.source()) {
+                private long bytes;
+                private boolean recorded;
+
+                @Override
+                public long read(Buffer sink, long byteCount) throws IOException {
+                    long read = super.read(sink, byteCount);
+                    if (read == -1) {
+                        record();
+                    } else {
+                        bytes += read;
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    record();
+                    super.close();
+                }
+
+                private void record() {
+                    if (!recorded) {
+                        recorded = true;
+                        summary.record(bytes);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return body.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import org.joda.time.DateTime;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.function.Function;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+// a page is unchanged while every object it is rendered from keeps its uid and resource version
+public class ETagBuilder {
+    // a restart may come with new templates, so pages cached before it are never matched after it
+    private static final String GENERATION = Long.toHexString(System.currentTimeMillis());
+
+    private final StringBuilder source = new StringBuilder(GENERATION);
+
+    public ETagBuilder add(String value) {
+        source.append('\n')
+                .append(defaultString(value));
+        return this;
+    }
+
+    public ETagBuilder add(Iterable<String> values) {
+        if (values != null) {
+            values.forEach(this::add);
+        }
+        return this;
+    }
+
+    public ETagBuilder add(V1ObjectMeta metadata) {
+        return add(version(metadata));
+    }
+
+    // sorted, so objects that come out of an index in no particular order give the same etag every time
+    public <T> ETagBuilder add(Collection<T> items, Function<T, V1ObjectMeta> metadataFunction) {
+        add(Integer.toString(items.size()));
+        items.stream()
+                .map(item -> version(metadataFunction.apply(item)))
+                .sorted()
+                .forEach(this::add);
+        return this;
+    }
+
+    // a page built from last good answers gets an etag of its own, otherwise a browser holding it would be told it is
+    // not modified once the api server answers again and keep showing it as stale
+    public String build() {
+        String etag = source.toString();
+        DateTime staleSince = ApiFallback.peekStaleSince();
+        if (staleSince != null) {
+            etag += "\nstale since " + staleSince.getMillis();
+        }
+        return DigestUtils.md5DigestAsHex(etag.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String version(V1ObjectMeta metadata) {
+        if (metadata == null) {
+            return "";
+        }
+        return defaultString(metadata.getUid()) + ":" + defaultString(metadata.getResourceVersion());
+    }
+}
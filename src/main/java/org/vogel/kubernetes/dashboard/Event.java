@@ -3,6 +3,7 @@ package org.vogel.kubernetes.dashboard;
 import io.kubernetes.client.models.V1Event;
 import io.kubernetes.client.models.V1EventSource;
 import lombok.Getter;
+import org.joda.time.DateTime;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,23 +16,31 @@ import static org.vogel.kubernetes.dashboard.FormatUtils.translateTimestamp;
 public class Event {
     private String type;
     private String reason;
-    private String interval;
+    private int count;
+    private DateTime firstTimestamp;
+    private DateTime lastTimestamp;
     private String source;
     private String message;
 
     public Event(V1Event event) {
         type = event.getType();
         reason = event.getReason();
-        if (event.getCount() > 1) {
-            interval = String.format("%s (x%d over %s)", translateTimestamp(event.getLastTimestamp()), event.getCount(),
-                                     translateTimestamp(event.getFirstTimestamp()));
-        } else {
-            interval = translateTimestamp(event.getFirstTimestamp());
-        }
+        count = event.getCount();
+        firstTimestamp = event.getFirstTimestamp();
+        lastTimestamp = event.getLastTimestamp();
         source = formatEventSource(event.getSource());
         message = event.getMessage();
     }
 
+    // pages render this again in the browser from the timestamps, so a page served from the cache keeps up
+    public String getInterval() {
+        if (count > 1) {
+            return String.format("%s (x%d over %s)", translateTimestamp(lastTimestamp), count,
+                                 translateTimestamp(firstTimestamp));
+        }
+        return translateTimestamp(firstTimestamp);
+    }
+
     private String formatEventSource(V1EventSource source) {
         List<String> eventSourceString = new ArrayList<>();
         eventSourceString.add(source.getComponent());
@@ -0,0 +1,146 @@
+package org.vogel.kubernetes.dashboard;
+
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.apis.CoreV1Api;
+import io.kubernetes.client.models.V1Event;
+import io.kubernetes.client.models.V1EventList;
+import io.kubernetes.client.util.Watch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.event.EventHistory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static org.vogel.kubernetes.dashboard.ResourceWatcher.WATCH_TIMEOUT_SECONDS;
+
+@Component
+public class EventCache extends NamespacedCache<V1Event, V1Event> {
+
+    private static final Type WATCH_TYPE = new TypeToken<Watch.Response<V1Event>>() {
+    }.getType();
+
+    private final Map<ResourceStore<V1Event, V1Event>, EventIndex> indexes = new ConcurrentHashMap<>();
+    private final EventHistory eventHistory;
+    private final int maxEvents;
+    private final long maxAgeMillis;
+    private final boolean watchAllForHistory;
+    private volatile ResourceWatcher<V1Event> historyWatcher;
+
+    public EventCache(EventHistory eventHistory, NamespaceCache namespaceCache,
+                      @Value("${dashboard.cache.sync-timeout-seconds:30}") long syncTimeoutSeconds,
+                      @Value("${dashboard.cache.max-namespaces:64}") int maxNamespaces,
+                      @Value("${dashboard.cache.idle-minutes:30}") long idleMinutes,
+                      @Value("${dashboard.cache.events.max-count:5000}") int maxEvents,
+                      @Value("${dashboard.cache.events.max-age-seconds:3600}") long maxAgeSeconds,
+                      @Value("${dashboard.events.history.watch-all-namespaces:true}") boolean watchAllForHistory)
+            throws IOException {
+        super("event", V1Event::getMetadata, Function.identity(), namespaceCache, syncTimeoutSeconds, maxNamespaces,
+              idleMinutes);
+        this.eventHistory = eventHistory;
+        this.maxEvents = maxEvents;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.watchAllForHistory = watchAllForHistory;
+    }
+
+    // the namespaced watches stop when nobody looks at a namespace, the history is fed by a watch of the whole
+    // cluster instead so that it keeps recording events nobody is looking at yet
+    @PostConstruct
+    public void startHistoryWatch() {
+        if (!watchAllForHistory) {
+            return;
+        }
+        ResourceStore<V1Event, V1Event> store = new ResourceStore<>(V1Event::getMetadata, Function.identity());
+        store.addListener(eventHistory);
+        CoreV1Api api = new CoreV1Api(apiClient);
+        historyWatcher = new ResourceWatcher<>(
+                "events in all namespaces", apiClient,
+                () -> {
+                    V1EventList eventList = api.listEventForAllNamespaces(null, null, null, null, null, null, null,
+                                                                          null, null);
+                    return new ResourceWatcher.Snapshot<>(eventList.getItems(), eventList.getMetadata()
+                            .getResourceVersion());
+                },
+                resourceVersion -> api.listEventForAllNamespacesCall(null, null, null, null, null, null,
+                                                                     resourceVersion, WATCH_TIMEOUT_SECONDS, true,
+                                                                     null, null),
+                WATCH_TYPE, V1Event::getMetadata, store);
+        Thread thread = new Thread(historyWatcher, "event-history-watch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public List<V1Event> getEvents(String namespace, String kind, String name, String uid) throws ApiException {
+        // starts the namespace's watch if needed and waits for its first list
+        ResourceStore<V1Event, V1Event> store = getStore(namespace);
+        // the history holds what the api server has already dropped, the live copy of an event wins over it
+        Map<String, V1Event> events = new HashMap<>();
+        for (V1Event event : eventHistory.getEvents(uid)) {
+            events.put(event.getMetadata()
+                               .getUid(), event);
+        }
+        // the namespace's watch may have been stopped in the meantime, then the history is all there is
+        EventIndex index = indexes.get(store);
+        if (index != null) {
+            for (V1Event event : index.getEvents(kind, name, uid)) {
+                events.put(event.getMetadata()
+                                   .getUid(), event);
+            }
+        }
+        return events.values()
+                .stream()
+                .sorted(Comparator.comparingLong(EventIndex::timestamp))
+                .collect(toList());
+    }
+
+    @Override
+    protected void storeCreated(String namespace, ResourceStore<V1Event, V1Event> store) {
+        EventIndex index = new EventIndex(store, maxEvents, maxAgeMillis);
+        store.addListener(index);
+        if (!watchAllForHistory) {
+            store.addListener(eventHistory);
+        }
+        indexes.put(store, index);
+    }
+
+    @Override
+    protected void storeEvicted(String namespace, ResourceStore<V1Event, V1Event> store) {
+        indexes.remove(store);
+    }
+
+    @Override
+    @PreDestroy
+    public void shutdown() {
+        super.shutdown();
+        if (historyWatcher != null) {
+            historyWatcher.stop();
+        }
+    }
+
+    @Override
+    protected ResourceWatcher<V1Event> createWatcher(String namespace, ResourceStore<V1Event, ?> store) {
+        CoreV1Api api = new CoreV1Api(apiClient);
+        return new ResourceWatcher<>(
+                String.format("events in %s", namespace), apiClient,
+                () -> {
+                    V1EventList eventList = api.listNamespacedEvent(namespace, null, null, null, null, null, null,
+                                                                    null, null, null);
+                    return new ResourceWatcher.Snapshot<>(eventList.getItems(), eventList.getMetadata()
+                            .getResourceVersion());
+                },
+                resourceVersion -> api.listNamespacedEventCall(namespace, null, null, null, null, null, null,
+                                                               resourceVersion, WATCH_TIMEOUT_SECONDS, true, null,
+                                                               null),
+                WATCH_TYPE, V1Event::getMetadata, store);
+    }
+}
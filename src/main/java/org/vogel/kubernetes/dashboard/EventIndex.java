@@ -0,0 +1,134 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1Event;
+import io.kubernetes.client.models.V1ObjectReference;
+import lombok.AllArgsConstructor;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toList;
+
+public class EventIndex implements ResourceStore.StoreListener<V1Event> {
+    private static final Comparator<Entry> TIME_ORDER = Comparator.comparingLong((Entry entry) -> entry.time)
+            .thenComparing(entry -> entry.uid);
+
+    private final ResourceStore<V1Event, ?> store;
+    private final int maxEvents;
+    private final long maxAgeMillis;
+    // events keyed by "kind/name/uid" of the object they are about
+    private final Map<String, Map<String, V1Event>> eventsByObject = new HashMap<>();
+    private final Map<String, Entry> entriesByUid = new HashMap<>();
+    private final NavigableSet<Entry> entriesByTime = new TreeSet<>(TIME_ORDER);
+
+    public EventIndex(ResourceStore<V1Event, ?> store, int maxEvents, long maxAgeMillis) {
+        this.store = store;
+        this.maxEvents = Math.max(1, maxEvents);
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    @Override
+    public synchronized void added(V1Event event) {
+        remove(event.getMetadata()
+                       .getUid());
+        Entry entry = new Entry(event.getMetadata()
+                                        .getUid(), objectKey(event.getInvolvedObject()), timestamp(event));
+        entriesByUid.put(entry.uid, entry);
+        entriesByTime.add(entry);
+        eventsByObject.computeIfAbsent(entry.objectKey, key -> new HashMap<>())
+                .put(entry.uid, event);
+        trim();
+    }
+
+    @Override
+    public synchronized void updated(V1Event oldEvent, V1Event newEvent) {
+        added(newEvent);
+    }
+
+    @Override
+    public synchronized void deleted(V1Event event) {
+        remove(event.getMetadata()
+                       .getUid());
+    }
+
+    public synchronized List<V1Event> getEvents(String kind, String name, String uid) {
+        Map<String, V1Event> events = eventsByObject.get(objectKey(kind, name, uid));
+        if (events == null) {
+            return Collections.emptyList();
+        }
+        // reads only filter by age, anything older is dropped from the store by the next event to arrive
+        long oldest = System.currentTimeMillis() - maxAgeMillis;
+        return events.values()
+                .stream()
+                .filter(event -> timestamp(event) >= oldest)
+                .sorted(Comparator.comparingLong(EventIndex::timestamp))
+                .collect(toList());
+    }
+
+    public synchronized int size() {
+        return entriesByUid.size();
+    }
+
+    // called with the store's lock held, so deleting from the store here can't race another watch event
+    private void trim() {
+        long oldest = System.currentTimeMillis() - maxAgeMillis;
+        List<V1Event> evicted = new ArrayList<>();
+        while (!entriesByTime.isEmpty()) {
+            Entry entry = entriesByTime.first();
+            if (entriesByTime.size() <= maxEvents && entry.time >= oldest) {
+                break;
+            }
+            evicted.add(eventsByObject.get(entry.objectKey)
+                                .get(entry.uid));
+            remove(entry.uid);
+        }
+        evicted.forEach(store::delete);
+    }
+
+    private void remove(String uid) {
+        Entry entry = entriesByUid.remove(uid);
+        if (entry == null) {
+            return;
+        }
+        entriesByTime.remove(entry);
+        Map<String, V1Event> events = eventsByObject.get(entry.objectKey);
+        events.remove(uid);
+        if (events.isEmpty()) {
+            eventsByObject.remove(entry.objectKey);
+        }
+    }
+
+    private static String objectKey(V1ObjectReference object) {
+        return object == null ? "" : objectKey(object.getKind(), object.getName(), object.getUid());
+    }
+
+    private static String objectKey(String kind, String name, String uid) {
+        return kind + "/" + name + "/" + uid;
+    }
+
+    static long timestamp(V1Event event) {
+        DateTime time = event.getLastTimestamp();
+        if (time == null) {
+            time = event.getEventTime();
+        }
+        if (time == null) {
+            time = event.getMetadata()
+                    .getCreationTimestamp();
+        }
+        return time == null ? 0 : time.getMillis();
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final String uid;
+        private final String objectKey;
+        private final long time;
+    }
+}
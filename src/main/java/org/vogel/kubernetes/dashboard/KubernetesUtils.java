@@ -1,22 +1,25 @@
 package org.vogel.kubernetes.dashboard;
 
-import com.google.gson.Gson;
 import io.kubernetes.client.ApiClient;
 import io.kubernetes.client.ApiException;
 import io.kubernetes.client.Configuration;
 import io.kubernetes.client.apis.AppsV1beta2Api;
 import io.kubernetes.client.apis.CoreV1Api;
 import io.kubernetes.client.apis.ExtensionsV1beta1Api;
+import io.kubernetes.client.models.V1ConfigMap;
 import io.kubernetes.client.models.V1ConfigMapList;
 import io.kubernetes.client.models.V1Endpoints;
+import io.kubernetes.client.models.V1Event;
 import io.kubernetes.client.models.V1EndpointsList;
-import io.kubernetes.client.models.V1EventList;
-import io.kubernetes.client.models.V1NamespaceList;
+import io.kubernetes.client.models.V1LabelSelector;
+import io.kubernetes.client.models.V1ListMeta;
 import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.models.V1OwnerReference;
+import io.kubernetes.client.models.V1PersistentVolume;
+import io.kubernetes.client.models.V1PersistentVolumeClaim;
 import io.kubernetes.client.models.V1PersistentVolumeClaimList;
 import io.kubernetes.client.models.V1PersistentVolumeList;
-import io.kubernetes.client.models.V1PodList;
+import io.kubernetes.client.models.V1Pod;
 import io.kubernetes.client.models.V1PodTemplateSpec;
 import io.kubernetes.client.models.V1Service;
 import io.kubernetes.client.models.V1ServiceList;
@@ -27,134 +30,286 @@ import io.kubernetes.client.models.V1beta2DeploymentList;
 import io.kubernetes.client.models.V1beta2ReplicaSet;
 import io.kubernetes.client.models.V1beta2ReplicaSetList;
 import io.kubernetes.client.util.Config;
+import lombok.AllArgsConstructor;
+import org.apache.commons.collections4.map.LRUMap;
 import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.ResourceExecutors.ApiCall;
 import org.vogel.kubernetes.dashboard.configmap.ConfigMap;
 import org.vogel.kubernetes.dashboard.deployment.Deployment;
+import org.vogel.kubernetes.dashboard.ingress.BackendResolver;
 import org.vogel.kubernetes.dashboard.ingress.Ingress;
+import org.vogel.kubernetes.dashboard.log.LogOptions;
+import org.vogel.kubernetes.dashboard.log.LogStreams;
 import org.vogel.kubernetes.dashboard.persistentvolume.PersistentVolume;
 import org.vogel.kubernetes.dashboard.persistentvolumeclaim.PersistentVolumeClaim;
 import org.vogel.kubernetes.dashboard.replicaset.ReplicaSet;
 import org.vogel.kubernetes.dashboard.service.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.vogel.kubernetes.dashboard.ApiRateLimiter.Priority.BULK;
+import static org.vogel.kubernetes.dashboard.ApiRateLimiter.Priority.INTERACTIVE;
 
 @Component
 public class KubernetesUtils {
 
     public static final String FALSE = "false";
-
-    public KubernetesUtils() throws IOException {
+    private static final int FINGERPRINT_CACHE_SIZE = 1024;
+    private static final Comparator<V1beta2ReplicaSet> REPLICA_SET_AGE_ORDER = Comparator.comparing(
+            (V1beta2ReplicaSet rs) -> rs.getMetadata()
+                    .getCreationTimestamp())
+            .thenComparing(rs -> rs.getMetadata()
+                    .getName());
+
+    private PodCache podCache;
+    private ReplicaSetCache replicaSetCache;
+    private NamespaceCache namespaceCache;
+    private EventCache eventCache;
+    private ViewModelCache viewModels;
+    private ApiRateLimiter rateLimiter;
+    private ApiFallback fallback;
+    private DashboardMetrics metrics;
+    private Map<String, VersionedFingerprint> fingerprints = Collections.synchronizedMap(
+            new LRUMap<>(FINGERPRINT_CACHE_SIZE));
+
+    public KubernetesUtils(PodCache podCache, ReplicaSetCache replicaSetCache, NamespaceCache namespaceCache,
+                           EventCache eventCache, ViewModelCache viewModels, ApiRateLimiter rateLimiter,
+                           ApiFallback fallback, DashboardMetrics metrics) throws IOException {
+        this.podCache = podCache;
+        this.replicaSetCache = replicaSetCache;
+        this.namespaceCache = namespaceCache;
+        this.eventCache = eventCache;
+        this.viewModels = viewModels;
+        this.rateLimiter = rateLimiter;
+        this.fallback = fallback;
+        this.metrics = metrics;
         ApiClient client = Config.defaultClient();
+        client.getHttpClient()
+                .interceptors()
+                .add(metrics.payloadInterceptor());
         Configuration.setDefaultApiClient(client);
     }
 
     public List<String> getNamespaces() throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-        V1NamespaceList namespaceList = api.listNamespace(null, null, null, null, null, null, null, null, null);
-
-        return createListObjects(namespaceList.getItems(), ns -> ns.getMetadata()
-                .getName());
+        return metrics.time("namespaces", "list", namespaceCache::getNamespaces);
     }
 
-    public List<Event> getEvents(String namespace, String kind, String replicaSetName, String uid) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-        String filter = String.format("involvedObject.kind=%s,involvedObject.name=%s,involvedObject.uid=%s", kind,
-                                      replicaSetName, uid);
-        V1EventList eventList = api.listNamespacedEvent(namespace, FALSE, null, filter, null, null, null, null, null,
-                                                        null);
+    public Versioned<List<Event>> getEvents(String namespace, String kind, String name,
+                                            String uid) throws ApiException {
+        return metrics.time("events", "list", () -> {
+            List<V1Event> events = eventCache.getEvents(namespace, kind, name, uid);
+            String version = new ETagBuilder().add(events, V1Event::getMetadata)
+                    .build();
+            return new Versioned<>(null, version, metrics.timedViews(Event.class, "list",
+                                                                     () -> createListObjects(events, Event::new)));
+        });
+    }
 
-        return createListObjects(eventList.getItems(), Event::new);
+    public Page<PodSummary> getPods(String namespace, PageRequest pageRequest) throws ApiException {
+        return metrics.time("pods", "list", () -> podCache.getPods(namespace, pageRequest));
     }
 
-    public List<Pod> getPods(String namespace) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-        V1PodList podList = api.listNamespacedPod(namespace, null, null, null, null, null, null, null, null, null);
+    public Versioned<Pod> getPod(String namespace, String podName) throws ApiException {
+        return metrics.time("pods", "get", () -> {
+            Optional<V1Pod> cached = podCache.getPod(namespace, podName);
+            V1Pod pod;
+            if (cached.isPresent()) {
+                pod = cached.get();
+            } else {
+                CoreV1Api api = new CoreV1Api();
+                pod = interactive("readNamespacedPod", namespace, podName,
+                                  () -> api.readNamespacedPod(podName, namespace, null, null, null));
+            }
 
-        return createListObjects(podList.getItems(), Pod::new);
+            return versioned(Pod.class, pod.getMetadata(), pod, Pod::new);
+        });
     }
 
-    public Pod getPod(String namespace, String podName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-
-        return new Pod(api.readNamespacedPod(podName, namespace, null, null, null));
+    public InputStream streamPodLogs(String namespace, String podName) throws ApiException {
+        return streamPodLogs(namespace, podName, LogOptions.ALL);
     }
 
-    public String getPodLogs(String namespace, String podName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public InputStream streamPodLogs(String namespace, String podName, LogOptions options) throws ApiException {
+        return streamPodLogs(namespace, podName, options, false, INTERACTIVE);
+    }
 
-        return api.readNamespacedPodLog(podName, namespace, null, null, null, FALSE, null, null, null, null);
+    // merging opens one stream per pod of a deployment or replica set, those pass as BULK so they can't crowd out
+    // the page someone is waiting on
+    public InputStream streamPodLogs(String namespace, String podName, LogOptions options, boolean timestamps,
+                                     ApiRateLimiter.Priority priority) throws ApiException {
+        return metrics.time("pods", "log", () -> {
+            CoreV1Api api = new CoreV1Api();
+
+            return rateLimiter.call(priority, () -> LogStreams.open(api.readNamespacedPodLogCall(
+                    podName, namespace, null, null, positiveOrNull(options.getLimitBytes()), FALSE, null,
+                    positiveOrNull(options.getSinceSeconds()), positiveOrNull(options.getTailLines()), timestamps, null,
+                    null)));
+        });
     }
 
-    public List<ReplicaSet> getReplicaSets(String namespace) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
+    public Page<ReplicaSet> getReplicaSets(String namespace, PageRequest pageRequest) throws ApiException {
+        return metrics.time("replicasets", "list", () -> {
+            AppsV1beta2Api api = new AppsV1beta2Api();
 
-        V1beta2ReplicaSetList replicaSetList = api.listNamespacedReplicaSet(namespace, FALSE, null, null, null, null,
-                                                                            null, null, null, null);
+            V1beta2ReplicaSetList replicaSetList = bulk(
+                    "listNamespacedReplicaSet", namespace, pageKey(pageRequest),
+                    () -> api.listNamespacedReplicaSet(namespace, FALSE, pageRequest.getContinueToken(), null, null,
+                                                       null, pageRequest.getLimit(), null, null, null));
 
-        return createListObjects(replicaSetList.getItems(), ReplicaSet::new);
+            return createPage("replicasets", replicaSetList.getItems(), replicaSetList.getMetadata(), pageRequest,
+                              ReplicaSet.class, V1beta2ReplicaSet::getMetadata, ReplicaSet::new);
+        });
     }
 
-    public ReplicaSet getReplicaSet(String namespace, String replicaSetName) throws ApiException {
+    // the describe views of replica sets and deployments are filled in from other objects after they are built, so
+    // they are not shared through the view model cache
+    public Versioned<ReplicaSet> getReplicaSet(String namespace, String replicaSetName) throws ApiException {
+        return metrics.time("replicasets", "get", () -> {
+            V1beta2ReplicaSet kubeReplicaSet = readReplicaSet(namespace, replicaSetName);
+            V1ObjectMeta metadata = kubeReplicaSet.getMetadata();
+            List<V1Pod> pods = podCache.select(namespace, compileSelector(kubeReplicaSet.getSpec()
+                                                                                  .getSelector()));
+            String version = new ETagBuilder().add(metadata)
+                    .add(pods, V1Pod::getMetadata)
+                    .build();
+            return new Versioned<>(metadata.getUid(), version, metrics.timedViews(ReplicaSet.class, "get", () -> {
+                ReplicaSet replicaSet = new ReplicaSet(kubeReplicaSet);
+                replicaSet.setStatus(new PodStatus(pods, metadata.getUid(), this));
+                return replicaSet;
+            }));
+        });
+    }
+
+    private V1beta2ReplicaSet readReplicaSet(String namespace, String replicaSetName) throws ApiException {
         AppsV1beta2Api api = new AppsV1beta2Api();
 
-        V1beta2ReplicaSet kubeReplicaSet = api.readNamespacedReplicaSet(replicaSetName, namespace, null, null, null);
-        ReplicaSet replicaSet = new ReplicaSet(kubeReplicaSet);
-        PodStatus podStatus = getPodStatusForController(namespace, replicaSet.getSelector(),
-                                                        kubeReplicaSet.getMetadata()
-                                                                .getUid());
-        replicaSet.setStatus(podStatus);
-        return replicaSet;
+        return interactive("readNamespacedReplicaSet", namespace, replicaSetName,
+                           () -> api.readNamespacedReplicaSet(replicaSetName, namespace, null, null, null));
     }
 
-    private PodStatus getPodStatusForController(String namespace, String selector, String uid) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    private Selector compileSelector(V1LabelSelector labelSelector) {
+        try {
+            return Selector.fromLabelSelector(labelSelector);
+        } catch (RequirementException e) {
+            // the api server already validated the selector, every caller filters by ownership so matching all of
+            // the namespace only costs a wider search
+            return new Selector();
+        }
+    }
 
-        V1PodList podList = api.listNamespacedPod(namespace, FALSE, null, null, null, selector, null, null, null,
-                                                  null);
+    public List<String> getReplicaSetPodNames(String namespace, String replicaSetName) throws ApiException {
+        return metrics.time("replicasets", "pods", () -> {
+            V1beta2ReplicaSet kubeReplicaSet = readReplicaSet(namespace, replicaSetName);
+            String uid = kubeReplicaSet.getMetadata()
+                    .getUid();
+            return podCache.select(namespace, compileSelector(kubeReplicaSet.getSpec()
+                                                                      .getSelector()))
+                    .stream()
+                    .filter(pod -> isControlledBy(pod.getMetadata(), uid))
+                    .map(pod -> pod.getMetadata()
+                            .getName())
+                    .sorted()
+                    .collect(toList());
+        });
+    }
 
-        return new PodStatus(podList.getItems(), uid, this);
+    public List<String> getDeploymentPodNames(String namespace, String deploymentName) throws ApiException {
+        return metrics.time("deployments", "pods", () -> {
+            V1beta2Deployment kubeDeployment = readDeployment(namespace, deploymentName);
+            V1LabelSelector selector = kubeDeployment.getSpec()
+                    .getSelector();
+            // a deployment's pods are the ones controlled by its replica sets, the selector only narrows the search
+            List<V1beta2ReplicaSet> replicaSets = getDeploymentReplicaSets(namespace, selector,
+                                                                           kubeDeployment.getMetadata()
+                                                                                   .getUid());
+            Set<String> replicaSetUids = replicaSets.stream()
+                    .map(rs -> rs.getMetadata()
+                            .getUid())
+                    .collect(toSet());
+            return podCache.select(namespace, compileSelector(selector))
+                    .stream()
+                    .filter(pod -> getControllerOf(pod.getMetadata())
+                            .map(owner -> replicaSetUids.contains(owner.getUid()))
+                            .orElse(false))
+                    .map(pod -> pod.getMetadata()
+                            .getName())
+                    .sorted()
+                    .collect(toList());
+        });
     }
 
-    public List<Deployment> getDeployments(String namespace) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
+    public Page<Deployment> getDeployments(String namespace, PageRequest pageRequest) throws ApiException {
+        return metrics.time("deployments", "list", () -> {
+            AppsV1beta2Api api = new AppsV1beta2Api();
 
-        V1beta2DeploymentList deploymentList = api.listNamespacedDeployment(namespace, FALSE, null, null, null, null,
-                                                                            null, null, null, null);
+            V1beta2DeploymentList deploymentList = bulk(
+                    "listNamespacedDeployment", namespace, pageKey(pageRequest),
+                    () -> api.listNamespacedDeployment(namespace, FALSE, pageRequest.getContinueToken(), null, null,
+                                                       null, pageRequest.getLimit(), null, null, null));
 
-        return createListObjects(deploymentList.getItems(), Deployment::new);
+            return createPage("deployments", deploymentList.getItems(), deploymentList.getMetadata(), pageRequest,
+                              Deployment.class, V1beta2Deployment::getMetadata, Deployment::new);
+        });
     }
 
-    public Deployment getDeployment(String namespace, String deploymentName) throws ApiException {
+    public Versioned<Deployment> getDeployment(String namespace, String deploymentName) throws ApiException {
+        return metrics.time("deployments", "get", () -> {
+            V1beta2Deployment kubeDeployment = readDeployment(namespace, deploymentName);
+            V1ObjectMeta metadata = kubeDeployment.getMetadata();
+            List<V1beta2ReplicaSet> replicaSetList = getDeploymentReplicaSets(namespace, kubeDeployment.getSpec()
+                    .getSelector(), metadata.getUid());
+            String version = new ETagBuilder().add(metadata)
+                    .add(replicaSetList, V1beta2ReplicaSet::getMetadata)
+                    .build();
+            return new Versioned<>(metadata.getUid(), version, metrics.timedViews(
+                    Deployment.class, "get", () -> describeDeployment(kubeDeployment, replicaSetList)));
+        });
+    }
+
+    private V1beta2Deployment readDeployment(String namespace, String deploymentName) throws ApiException {
         AppsV1beta2Api api = new AppsV1beta2Api();
 
-        V1beta2Deployment kubeDeployment = api.readNamespacedDeployment(deploymentName, namespace, null, null, null);
+        return interactive("readNamespacedDeployment", namespace, deploymentName,
+                           () -> api.readNamespacedDeployment(deploymentName, namespace, null, null, null));
+    }
+
+    private Deployment describeDeployment(V1beta2Deployment kubeDeployment, List<V1beta2ReplicaSet> replicaSetList) {
         Deployment deployment = new Deployment(kubeDeployment);
-        List<V1beta2ReplicaSet> replicaSetList = getDeploymentReplicaSets(namespace, deployment.getSelector(),
-                                                                          kubeDeployment.getMetadata()
-                                                                                  .getUid());
-        deployment.setOldReplicaSet(printReplicaSetsByLabels(findOldReplicaSet(kubeDeployment, replicaSetList)));
-        Optional<V1beta2ReplicaSet> newReplicaSet = findNewReplicaSet(kubeDeployment, replicaSetList);
+        replicaSetList.sort(REPLICA_SET_AGE_ORDER);
+        TemplateFingerprint template = fingerprint(kubeDeployment.getMetadata(), kubeDeployment.getSpec()
+                .getTemplate());
         List<V1beta2ReplicaSet> newReplicaSetList = new ArrayList<>();
-        newReplicaSet.ifPresent(newReplicaSetList::add);
+        List<V1beta2ReplicaSet> oldReplicaSetList = new ArrayList<>();
+        for (V1beta2ReplicaSet rs : replicaSetList) {
+            if (newReplicaSetList.isEmpty() && template.equals(fingerprint(rs.getMetadata(), rs.getSpec()
+                    .getTemplate()))) {
+                newReplicaSetList.add(rs);
+            } else if (rs.getSpec()
+                    .getReplicas() != 0) {
+                oldReplicaSetList.add(rs);
+            }
+        }
+        deployment.setOldReplicaSet(printReplicaSetsByLabels(oldReplicaSetList));
         deployment.setNewReplicaSet(printReplicaSetsByLabels(newReplicaSetList));
 
         return deployment;
     }
 
-    private List<V1beta2ReplicaSet> getDeploymentReplicaSets(String namespace, String selector,
+    private List<V1beta2ReplicaSet> getDeploymentReplicaSets(String namespace, V1LabelSelector labelSelector,
                                                              String uid) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
-
-        V1beta2ReplicaSetList replicaSetList = api.listNamespacedReplicaSet(namespace, FALSE, null, null, null,
-                                                                            selector, null, null, null, null);
-        List<V1beta2ReplicaSet> replicaSets = replicaSetList.getItems();
+        List<V1beta2ReplicaSet> replicaSets = replicaSetCache.select(namespace, compileSelector(labelSelector));
         return replicaSets.stream()
                 .filter(rs -> isControlledBy(rs.getMetadata(), uid))
                 .collect(toList());
@@ -169,65 +324,28 @@ public class KubernetesUtils {
     }
 
     private Optional<V1OwnerReference> getControllerOf(V1ObjectMeta metadata) {
+        if (metadata.getOwnerReferences() == null) {
+            return Optional.empty();
+        }
         return metadata.getOwnerReferences()
                 .stream()
                 .filter(owner -> owner.isController() != null && Boolean.TRUE.equals(owner.isController()))
                 .findFirst();
     }
 
-    private Optional<V1beta2ReplicaSet> findNewReplicaSet(V1beta2Deployment deployment,
-                                                          List<V1beta2ReplicaSet> replicaSetList) {
-        replicaSetList.sort((o1, o2) -> {
-            V1ObjectMeta o1Metadata = o1.getMetadata();
-            V1ObjectMeta o2Metadata = o2.getMetadata();
-            if (o1Metadata.getCreationTimestamp()
-                    .equals(o2Metadata.getCreationTimestamp())) {
-                return o1Metadata.getName()
-                        .compareTo(o2Metadata.getName());
-            }
-            return o1Metadata.getCreationTimestamp()
-                    .compareTo(o2Metadata.getCreationTimestamp());
-        });
-
-        return replicaSetList.stream()
-                .filter(rs -> equalIgnoreHash(rs.getSpec()
-                                                      .getTemplate(), deployment.getSpec()
-                                                      .getTemplate()))
-                .findFirst();
-    }
-
-    private List<V1beta2ReplicaSet> findOldReplicaSet(V1beta2Deployment deployment,
-                                                      List<V1beta2ReplicaSet> replicaSetList) {
-        List<V1beta2ReplicaSet> requiredRSs = new ArrayList<>();
-        Optional<V1beta2ReplicaSet> newReplicaSet = findNewReplicaSet(deployment, replicaSetList);
-        for (V1beta2ReplicaSet rs : replicaSetList) {
-            if (newReplicaSet.isPresent() && rs.getMetadata()
-                    .getUid()
-                    .equals(newReplicaSet.get()
-                                    .getMetadata()
-                                    .getUid())) {
-                continue;
-            }
-            if (rs.getSpec()
-                    .getReplicas() != 0) {
-                requiredRSs.add(rs);
-            }
+    private TemplateFingerprint fingerprint(V1ObjectMeta metadata, V1PodTemplateSpec template) {
+        String uid = metadata.getUid();
+        String resourceVersion = metadata.getResourceVersion();
+        VersionedFingerprint cached = fingerprints.get(uid);
+        if (cached != null && cached.resourceVersion.equals(resourceVersion)) {
+            return cached.fingerprint;
         }
 
-        return requiredRSs;
-    }
-
-    private boolean equalIgnoreHash(V1PodTemplateSpec template1, V1PodTemplateSpec template2) {
-        Gson gson = new Gson();
-        V1PodTemplateSpec t1Copy = gson.fromJson(gson.toJson(template1), V1PodTemplateSpec.class);
-        V1PodTemplateSpec t2Copy = gson.fromJson(gson.toJson(template2), V1PodTemplateSpec.class);
-        t1Copy.getMetadata()
-                .getLabels()
-                .remove("pod-template-hash");
-        t2Copy.getMetadata()
-                .getLabels()
-                .remove("pod-template-hash");
-        return t1Copy.equals(t2Copy);
+        TemplateFingerprint fingerprint = new TemplateFingerprint(template);
+        if (uid != null && resourceVersion != null) {
+            fingerprints.put(uid, new VersionedFingerprint(resourceVersion, fingerprint));
+        }
+        return fingerprint;
     }
 
     private String printReplicaSetsByLabels(List<V1beta2ReplicaSet> replicaSets) {
@@ -243,105 +361,204 @@ public class KubernetesUtils {
         }
     }
 
-    public List<Service> getServices(String namespace) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public Page<Service> getServices(String namespace, PageRequest pageRequest) throws ApiException {
+        return metrics.time("services", "list", () -> {
+            CoreV1Api api = new CoreV1Api();
 
-        V1ServiceList serviceList = api.listNamespacedService(namespace, FALSE, null, null, null, null, null, null,
-                                                              null, null);
+            V1ServiceList serviceList = bulk(
+                    "listNamespacedService", namespace, pageKey(pageRequest),
+                    () -> api.listNamespacedService(namespace, FALSE, pageRequest.getContinueToken(), null, null, null,
+                                                    pageRequest.getLimit(), null, null, null));
 
-        return createListObjects(serviceList.getItems(), Service::new);
+            return createPage("services", serviceList.getItems(), serviceList.getMetadata(), pageRequest, Service.class,
+                              V1Service::getMetadata, Service::new);
+        });
     }
 
-    public Service getService(String namespace, String serviceName) throws ApiException {
-        V1Service kubeService = getKubeService(namespace, serviceName);
-        V1EndpointsList endpointsList = getEndpoint(namespace, serviceName);
-        V1Endpoints v1Endpoints = endpointsList.getItems()
-                .get(0);
-
-        return new Service(kubeService, v1Endpoints);
+    public Versioned<Service> getService(String namespace, String serviceName) throws ApiException {
+        return metrics.time("services", "get", () -> {
+            V1Service kubeService = getKubeService(namespace, serviceName);
+            V1EndpointsList endpointsList = getEndpoint(namespace, serviceName);
+            V1Endpoints v1Endpoints = endpointsList.getItems()
+                    .get(0);
+            String version = new ETagBuilder().add(kubeService.getMetadata())
+                    .add(v1Endpoints.getMetadata())
+                    .build();
+
+            return new Versioned<>(kubeService.getMetadata()
+                                           .getUid(), version, metrics.timedViews(
+                    Service.class, "get", () -> new Service(kubeService, v1Endpoints)));
+        });
     }
 
+    // read for getService, which times the whole describe
     public V1EndpointsList getEndpoint(String namespace, String name) throws ApiException {
         CoreV1Api api = new CoreV1Api();
 
         String filter = String.format("metadata.name=%s", name);
-        return api.listNamespacedEndpoints(namespace, FALSE, null, filter, null, null, null, null, null, null);
+        return interactive("listNamespacedEndpoints", namespace, filter,
+                           () -> api.listNamespacedEndpoints(namespace, FALSE, null, filter, null, null, null, null,
+                                                             null, null));
     }
 
-    public List<Ingress> getIngresses(String namespace) throws ApiException {
-        ExtensionsV1beta1Api api = new ExtensionsV1beta1Api();
-
-        V1beta1IngressList ingressList = api.listNamespacedIngress(namespace, FALSE, null, null, null, null, null,
-                                                                   null, null, null);
+    // read through BackendResolver for getIngress, which times the whole describe and keeps it out of the list metrics
+    public List<V1Endpoints> getKubeEndpoints(String namespace) throws ApiException {
+        CoreV1Api api = new CoreV1Api();
 
-        return createListObjects(ingressList.getItems(), Ingress::new);
+        return bulk("listNamespacedEndpoints", namespace, null,
+                    () -> api.listNamespacedEndpoints(namespace, FALSE, null, null, null, null, null, null, null,
+                                                      null))
+                .getItems();
     }
 
-    public Ingress getIngress(String namespace, String ingressName) throws ApiException {
-        ExtensionsV1beta1Api api = new ExtensionsV1beta1Api();
+    public Page<Ingress> getIngresses(String namespace, PageRequest pageRequest) throws ApiException {
+        return metrics.time("ingresses", "list", () -> {
+            ExtensionsV1beta1Api api = new ExtensionsV1beta1Api();
+
+            V1beta1IngressList ingressList = bulk(
+                    "listNamespacedIngress", namespace, pageKey(pageRequest),
+                    () -> api.listNamespacedIngress(namespace, FALSE, pageRequest.getContinueToken(), null, null, null,
+                                                    pageRequest.getLimit(), null, null, null));
 
-        V1beta1Ingress kubeIngress = api.readNamespacedIngress(ingressName, namespace, null, null, null);
+            return createPage("ingresses", ingressList.getItems(), ingressList.getMetadata(), pageRequest,
+                              Ingress.class, V1beta1Ingress::getMetadata, Ingress::new);
+        });
+    }
 
-        return new Ingress(kubeIngress, this);
+    public Versioned<Ingress> getIngress(String namespace, String ingressName) throws ApiException {
+        return metrics.time("ingresses", "get", () -> {
+            ExtensionsV1beta1Api api = new ExtensionsV1beta1Api();
+
+            V1beta1Ingress kubeIngress = interactive(
+                    "readNamespacedIngress", namespace, ingressName,
+                    () -> api.readNamespacedIngress(ingressName, namespace, null, null, null));
+            BackendResolver backendResolver = BackendResolver.load(Ingress.backendNamespace(kubeIngress), this);
+            String version = new ETagBuilder().add(kubeIngress.getMetadata())
+                    .add(backendResolver.getVersion())
+                    .build();
+
+            return new Versioned<>(kubeIngress.getMetadata()
+                                           .getUid(), version, metrics.timedViews(
+                    Ingress.class, "get", () -> new Ingress(kubeIngress, backendResolver)));
+        });
     }
 
+    // timed as part of getService
     public V1Service getKubeService(String namespace, String serviceName) throws ApiException {
         CoreV1Api api = new CoreV1Api();
 
-        return api.readNamespacedService(serviceName, namespace, null, null, null);
+        return interactive("readNamespacedService", namespace, serviceName,
+                           () -> api.readNamespacedService(serviceName, namespace, null, null, null));
     }
 
-    public List<ConfigMap> getConfigMaps(String namespace) throws ApiException {
+    // timed as part of getIngress, like getKubeEndpoints
+    public List<V1Service> getKubeServices(String namespace) throws ApiException {
         CoreV1Api api = new CoreV1Api();
 
-        V1ConfigMapList configMapList = api.listNamespacedConfigMap(namespace, FALSE, null, null, null, null, null,
-                                                                    null,
-                                                                    null, null);
+        return bulk("listNamespacedService", namespace, null,
+                    () -> api.listNamespacedService(namespace, FALSE, null, null, null, null, null, null, null, null))
+                .getItems();
+    }
 
-        return createListObjects(configMapList.getItems(), ConfigMap::new);
+    public Page<ConfigMap> getConfigMaps(String namespace, PageRequest pageRequest) throws ApiException {
+        return metrics.time("configmaps", "list", () -> {
+            CoreV1Api api = new CoreV1Api();
+
+            V1ConfigMapList configMapList = bulk(
+                    "listNamespacedConfigMap", namespace, pageKey(pageRequest),
+                    () -> api.listNamespacedConfigMap(namespace, FALSE, pageRequest.getContinueToken(), null, null,
+                                                      null, pageRequest.getLimit(), null, null, null));
+
+            return createPage("configmaps", configMapList.getItems(), configMapList.getMetadata(), pageRequest,
+                              ConfigMap.class, V1ConfigMap::getMetadata, ConfigMap::new);
+        });
     }
 
-    public ConfigMap getConfigMap(String namespace, String configMapName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public Versioned<ConfigMap> getConfigMap(String namespace, String configMapName) throws ApiException {
+        return metrics.time("configmaps", "get", () -> {
+            CoreV1Api api = new CoreV1Api();
 
-        return new ConfigMap(api.readNamespacedConfigMap(configMapName, namespace, null, null, null));
+            V1ConfigMap configMap = interactive(
+                    "readNamespacedConfigMap", namespace, configMapName,
+                    () -> api.readNamespacedConfigMap(configMapName, namespace, null, null, null));
+            return versioned(ConfigMap.class, configMap.getMetadata(), configMap, ConfigMap::new);
+        });
     }
 
-    public List<PersistentVolume> getPersistentVolumes() throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public Page<PersistentVolume> getPersistentVolumes(PageRequest pageRequest) throws ApiException {
+        return metrics.time("persistentvolumes", "list", () -> {
+            CoreV1Api api = new CoreV1Api();
 
-        V1PersistentVolumeList persistentVolumeList = api.listPersistentVolume(FALSE, null, null, null, null, null,
-                                                                               null, null,
-                                                                               null);
+            V1PersistentVolumeList persistentVolumeList = bulk(
+                    "listPersistentVolume", null, pageKey(pageRequest),
+                    () -> api.listPersistentVolume(FALSE, pageRequest.getContinueToken(), null, null, null,
+                                                   pageRequest.getLimit(), null, null, null));
 
-        return createListObjects(persistentVolumeList.getItems(), PersistentVolume::new);
+            return createPage("persistentvolumes", persistentVolumeList.getItems(), persistentVolumeList.getMetadata(),
+                              pageRequest, PersistentVolume.class, V1PersistentVolume::getMetadata,
+                              PersistentVolume::new);
+        });
     }
 
-    public PersistentVolume getPersistentVolume(String persistentVolumeName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public Versioned<PersistentVolume> getPersistentVolume(String persistentVolumeName) throws ApiException {
+        return metrics.time("persistentvolumes", "get", () -> {
+            CoreV1Api api = new CoreV1Api();
 
-        return new PersistentVolume(api.readPersistentVolume(persistentVolumeName, null, null, null));
+            V1PersistentVolume persistentVolume = interactive(
+                    "readPersistentVolume", null, persistentVolumeName,
+                    () -> api.readPersistentVolume(persistentVolumeName, null, null, null));
+            return versioned(PersistentVolume.class, persistentVolume.getMetadata(), persistentVolume,
+                             PersistentVolume::new);
+        });
     }
 
-    public List<PersistentVolumeClaim> getPersistentVolumeClaims(String namespace) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public Page<PersistentVolumeClaim> getPersistentVolumeClaims(String namespace,
+                                                                 PageRequest pageRequest) throws ApiException {
+        return metrics.time("persistentvolumeclaims", "list", () -> {
+            CoreV1Api api = new CoreV1Api();
+
+            V1PersistentVolumeClaimList persistentVolumeClaimList = bulk(
+                    "listNamespacedPersistentVolumeClaim", namespace, pageKey(pageRequest),
+                    () -> api.listNamespacedPersistentVolumeClaim(namespace, FALSE, pageRequest.getContinueToken(),
+                                                                  null, null, null, pageRequest.getLimit(), null,
+                                                                  null, null));
+            return createPage("persistentvolumeclaims", persistentVolumeClaimList.getItems(),
+                              persistentVolumeClaimList.getMetadata(), pageRequest, PersistentVolumeClaim.class,
+                              V1PersistentVolumeClaim::getMetadata, PersistentVolumeClaim::new);
+        });
+    }
 
-        V1PersistentVolumeClaimList persistentVolumeClaimList = api.listNamespacedPersistentVolumeClaim(namespace,
-                                                                                                        FALSE, null,
-                                                                                                        null,
-                                                                                                        null, null,
-                                                                                                        null, null,
-                                                                                                        null,
-                                                                                                        null);
-        return createListObjects(persistentVolumeClaimList.getItems(), PersistentVolumeClaim::new);
+    public Versioned<PersistentVolumeClaim> getPersistentVolumeClaim(String namespace,
+                                                                     String persistentVolumeClaimName)
+            throws ApiException {
+        return metrics.time("persistentvolumeclaims", "get", () -> {
+            CoreV1Api api = new CoreV1Api();
+
+            V1PersistentVolumeClaim persistentVolumeClaim = interactive(
+                    "readNamespacedPersistentVolumeClaim", namespace, persistentVolumeClaimName,
+                    () -> api.readNamespacedPersistentVolumeClaim(persistentVolumeClaimName, namespace, null, null,
+                                                                  null));
+            return versioned(PersistentVolumeClaim.class, persistentVolumeClaim.getMetadata(), persistentVolumeClaim,
+                             PersistentVolumeClaim::new);
+        });
     }
 
-    public PersistentVolumeClaim getPersistentVolumeClaim(String namespace,
-                                                          String persistentVolumeClaimName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    private <T, R> Page<R> createPage(String kind, List<T> items, V1ListMeta listMeta, PageRequest pageRequest,
+                                      Class<R> type, Function<T, V1ObjectMeta> metadataFunction,
+                                      Function<T, R> creator) {
+        metrics.recordItems(kind, "list", items.size());
+        String nextToken = listMeta == null ? null : listMeta.getContinue();
+        String version = new ETagBuilder().add(items, metadataFunction)
+                .add(nextToken)
+                .build();
+        Function<T, R> cachingCreator = viewModels.creator(type, metadataFunction, creator);
+        return new Page<>(metrics.timedViews(type, "list", () -> createListObjects(items, cachingCreator)), pageRequest,
+                          nextToken, version);
+    }
 
-        return new PersistentVolumeClaim(
-                api.readNamespacedPersistentVolumeClaim(persistentVolumeClaimName, namespace, null, null, null));
+    private <T, V> Versioned<V> versioned(Class<V> type, V1ObjectMeta metadata, T item, Function<T, V> creator) {
+        return new Versioned<>(metadata.getUid(), new ETagBuilder().add(metadata)
+                .build(), metrics.timedViews(type, "get", () -> viewModels.get(type, metadata, item, creator)));
     }
 
     private <T, R> List<R> createListObjects(List<T> items, Function<T, R> creator) {
@@ -349,4 +566,31 @@ public class KubernetesUtils {
                 .map(creator)
                 .collect(toList());
     }
-}
\ No newline at end of file
+
+    // describe pages have someone waiting on them, list pages and lookups across a namespace can queue behind them
+    private <T> T interactive(String method, String namespace, String key, ApiCall<T> call) throws ApiException {
+        return read(method, namespace, key, () -> rateLimiter.call(INTERACTIVE, call));
+    }
+
+    private <T> T bulk(String method, String namespace, String key, ApiCall<T> call) throws ApiException {
+        return read(method, namespace, key, () -> rateLimiter.call(BULK, call));
+    }
+
+    private <T> T read(String method, String namespace, String key, ApiCall<T> call) throws ApiException {
+        return fallback.call(method, namespace, key, call);
+    }
+
+    private static String pageKey(PageRequest pageRequest) {
+        return pageRequest.getLimit() + ":" + pageRequest.getContinueToken();
+    }
+
+    private static Integer positiveOrNull(int value) {
+        return value > 0 ? value : null;
+    }
+
+    @AllArgsConstructor
+    private static class VersionedFingerprint {
+        private final String resourceVersion;
+        private final TemplateFingerprint fingerprint;
+    }
+}
@@ -0,0 +1,168 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class LabelIndex<T> implements ResourceStore.StoreListener<T> {
+    private final Function<T, V1ObjectMeta> metadataFunction;
+    private final Map<String, Integer> slotsByUid = new HashMap<>();
+    private final List<T> itemsBySlot = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    // postings keyed by "key=value" and by key alone, one bit per slot
+    private final Map<String, BitSet> labelPostings = new HashMap<>();
+    private final Map<String, BitSet> keyPostings = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    public LabelIndex(Function<T, V1ObjectMeta> metadataFunction) {
+        this.metadataFunction = metadataFunction;
+    }
+
+    @Override
+    public synchronized void added(T item) {
+        V1ObjectMeta metadata = metadataFunction.apply(item);
+        Integer slot = slotsByUid.get(metadata.getUid());
+        if (slot != null) {
+            unindex(slot);
+        } else {
+            slot = freeSlots.isEmpty() ? itemsBySlot.size() : freeSlots.pop();
+            slotsByUid.put(metadata.getUid(), slot);
+        }
+        index(slot, item, metadata);
+    }
+
+    @Override
+    public synchronized void updated(T oldItem, T newItem) {
+        added(newItem);
+    }
+
+    @Override
+    public synchronized void deleted(T item) {
+        Integer slot = slotsByUid.remove(metadataFunction.apply(item)
+                                                 .getUid());
+        if (slot != null) {
+            unindex(slot);
+            itemsBySlot.set(slot, null);
+            freeSlots.push(slot);
+        }
+    }
+
+    public synchronized List<T> select(Selector selector) {
+        BitSet candidates = (BitSet) live.clone();
+        for (Requirement requirement : selector.getRequirements()) {
+            narrow(candidates, requirement);
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+
+        // the postings narrow the candidates, the compiled selector settles gt, lt and anything else exactly
+        List<T> result = new ArrayList<>(candidates.cardinality());
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            T item = itemsBySlot.get(slot);
+            if (selector.matches(metadataFunction.apply(item)
+                                         .getLabels())) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return slotsByUid.size();
+    }
+
+    private void narrow(BitSet candidates, Requirement requirement) {
+        switch (requirement.getOperation()) {
+            case "=":
+            case "==":
+            case "in":
+                candidates.and(union(requirement));
+                break;
+            case "!=":
+            case "notin":
+                candidates.andNot(union(requirement));
+                break;
+            case "exists":
+            case "gt":
+            case "lt":
+                candidates.and(keyPostings.getOrDefault(requirement.getKey(), new BitSet()));
+                break;
+            case "!":
+                BitSet withKey = keyPostings.get(requirement.getKey());
+                if (withKey != null) {
+                    candidates.andNot(withKey);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private BitSet union(Requirement requirement) {
+        List<String> values = requirement.getValues();
+        if (values.size() == 1) {
+            BitSet postings = labelPostings.get(posting(requirement.getKey(), values.get(0)));
+            return postings == null ? new BitSet() : postings;
+        }
+        BitSet union = new BitSet();
+        for (String value : values) {
+            BitSet postings = labelPostings.get(posting(requirement.getKey(), value));
+            if (postings != null) {
+                union.or(postings);
+            }
+        }
+        return union;
+    }
+
+    private void index(int slot, T item, V1ObjectMeta metadata) {
+        if (slot == itemsBySlot.size()) {
+            itemsBySlot.add(item);
+        } else {
+            itemsBySlot.set(slot, item);
+        }
+        live.set(slot);
+        Map<String, String> labels = metadata.getLabels();
+        if (labels != null) {
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                labelPostings.computeIfAbsent(posting(label.getKey(), label.getValue()), key -> new BitSet())
+                        .set(slot);
+                keyPostings.computeIfAbsent(label.getKey(), key -> new BitSet())
+                        .set(slot);
+            }
+        }
+    }
+
+    private void unindex(int slot) {
+        live.clear(slot);
+        Map<String, String> labels = metadataFunction.apply(itemsBySlot.get(slot))
+                .getLabels();
+        if (labels != null) {
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                clear(labelPostings, posting(label.getKey(), label.getValue()), slot);
+                clear(keyPostings, label.getKey(), slot);
+            }
+        }
+    }
+
+    private static void clear(Map<String, BitSet> postings, String key, int slot) {
+        BitSet bits = postings.get(key);
+        if (bits != null) {
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static String posting(String key, String value) {
+        return key + "=" + value;
+    }
+}
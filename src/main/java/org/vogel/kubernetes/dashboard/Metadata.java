@@ -16,7 +16,6 @@ public class Metadata {
     private List<String> labels;
     private List<String> annotations;
     private DateTime creationTimestamp;
-    private String age;
     private String uid;
 
     protected Metadata(V1ObjectMeta metadata) {
@@ -25,7 +24,11 @@ public class Metadata {
         labels = printMultiline(metadata.getLabels());
         annotations = printMultiline(metadata.getAnnotations());
         creationTimestamp = metadata.getCreationTimestamp();
-        age = translateTimestamp(creationTimestamp);
         uid = metadata.getUid();
     }
+
+    // worked out when the page is rendered so that a cached view model never shows a stale age
+    public String getAge() {
+        return translateTimestamp(creationTimestamp);
+    }
 }
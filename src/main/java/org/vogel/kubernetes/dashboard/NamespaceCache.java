@@ -0,0 +1,132 @@
+package org.vogel.kubernetes.dashboard;
+
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.apis.CoreV1Api;
+import io.kubernetes.client.models.V1Namespace;
+import io.kubernetes.client.models.V1NamespaceList;
+import io.kubernetes.client.util.Watch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.vogel.kubernetes.dashboard.ResourceWatcher.WATCH_TIMEOUT_SECONDS;
+
+@Slf4j
+@Component
+public class NamespaceCache implements ResourceStore.StoreListener<V1Namespace> {
+
+    private static final Type WATCH_TYPE = new TypeToken<Watch.Response<V1Namespace>>() {
+    }.getType();
+
+    private final AtomicReference<List<String>> namespaces = new AtomicReference<>(Collections.emptyList());
+    private final List<Consumer<String>> deletionListeners = new CopyOnWriteArrayList<>();
+    private final ApiClient apiClient;
+    private final long syncTimeoutSeconds;
+    private volatile ResourceStore<V1Namespace, String> store;
+    private volatile ResourceWatcher<V1Namespace> watcher;
+
+    public NamespaceCache(
+            @Value("${dashboard.cache.sync-timeout-seconds:30}") long syncTimeoutSeconds) throws IOException {
+        this.syncTimeoutSeconds = syncTimeoutSeconds;
+        apiClient = ResourceWatcher.createWatchClient();
+    }
+
+    public List<String> getNamespaces() throws ApiException {
+        ResourceStore<V1Namespace, String> current = getStore();
+        try {
+            current.awaitSynced(syncTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (ApiException e) {
+            reset(current);
+            throw e;
+        }
+        return namespaces.get();
+    }
+
+    public boolean exists(String namespace) throws ApiException {
+        return getNamespaces().contains(namespace);
+    }
+
+    // called with the name of every namespace that disappears from the cluster
+    public void addDeletionListener(Consumer<String> listener) {
+        deletionListeners.add(listener);
+    }
+
+    @Override
+    public void added(V1Namespace item) {
+        swapSnapshot();
+    }
+
+    @Override
+    public void updated(V1Namespace oldItem, V1Namespace newItem) {
+        // a namespace cannot be renamed, so the snapshot is unchanged
+    }
+
+    @Override
+    public void deleted(V1Namespace item) {
+        swapSnapshot();
+        String name = item.getMetadata()
+                .getName();
+        deletionListeners.forEach(listener -> listener.accept(name));
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+
+    private void swapSnapshot() {
+        ResourceStore<V1Namespace, String> current = store;
+        if (current != null) {
+            namespaces.set(Collections.unmodifiableList(current.getViews()));
+        }
+    }
+
+    private synchronized void reset(ResourceStore<V1Namespace, String> failed) {
+        if (store == failed) {
+            watcher.stop();
+            store = null;
+            watcher = null;
+        }
+    }
+
+    private synchronized ResourceStore<V1Namespace, String> getStore() {
+        if (store != null) {
+            return store;
+        }
+
+        log.debug("Starting namespace watch");
+        store = new ResourceStore<>(V1Namespace::getMetadata, ns -> ns.getMetadata()
+                .getName());
+        store.addListener(this);
+        CoreV1Api api = new CoreV1Api(apiClient);
+        watcher = new ResourceWatcher<>(
+                "namespaces", apiClient,
+                () -> {
+                    V1NamespaceList namespaceList = api.listNamespace(null, null, null, null, null, null, null, null,
+                                                                      null);
+                    return new ResourceWatcher.Snapshot<>(namespaceList.getItems(), namespaceList.getMetadata()
+                            .getResourceVersion());
+                },
+                resourceVersion -> api.listNamespaceCall(null, null, null, null, null, null, resourceVersion,
+                                                         WATCH_TIMEOUT_SECONDS, true, null, null),
+                WATCH_TYPE, V1Namespace::getMetadata, store);
+        Thread thread = new Thread(watcher, "namespace-watch");
+        thread.setDaemon(true);
+        thread.start();
+        return store;
+    }
+}
@@ -0,0 +1,172 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1ObjectMeta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// every watch holds a thread for as long as it runs, so at most maxNamespaces namespaces are watched at once and a
+// namespace's watch is stopped once it is deleted or nobody has asked for it for idleMinutes
+@Slf4j
+public abstract class NamespacedCache<T, V> {
+
+    private final Map<String, Namespace<T, V>> namespaces = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor watchExecutor;
+    private final ScheduledExecutorService sweeper;
+    private final String kind;
+    private final Function<T, V1ObjectMeta> metadataFunction;
+    private final Function<T, V> viewFunction;
+    private final NamespaceCache namespaceCache;
+    private final long syncTimeoutSeconds;
+    private final long idleMillis;
+    protected final ApiClient apiClient;
+
+    protected NamespacedCache(String kind, Function<T, V1ObjectMeta> metadataFunction, Function<T, V> viewFunction,
+                              NamespaceCache namespaceCache, long syncTimeoutSeconds, int maxNamespaces,
+                              long idleMinutes) throws IOException {
+        this.kind = kind;
+        this.metadataFunction = metadataFunction;
+        this.viewFunction = viewFunction;
+        this.namespaceCache = namespaceCache;
+        this.syncTimeoutSeconds = syncTimeoutSeconds;
+        this.idleMillis = TimeUnit.MINUTES.toMillis(idleMinutes);
+        apiClient = ResourceWatcher.createWatchClient();
+        AtomicInteger threads = new AtomicInteger();
+        watchExecutor = new ThreadPoolExecutor(0, Math.max(1, maxNamespaces), 60, TimeUnit.SECONDS,
+                                               new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, kind + "-watch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, kind + "-watch-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMillis = Math.max(1000, idleMillis / 4);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+        namespaceCache.addDeletionListener(this::evict);
+    }
+
+    public List<T> select(String namespace, Selector selector) throws ApiException {
+        return getNamespace(namespace).index.select(selector);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        namespaces.values()
+                .forEach(cached -> cached.watcher.stop());
+        watchExecutor.shutdownNow();
+    }
+
+    protected abstract ResourceWatcher<T> createWatcher(String namespace, ResourceStore<T, ?> store);
+
+    // lets a subclass add its own listeners to a namespace's store before the watch starts filling it
+    protected void storeCreated(String namespace, ResourceStore<T, V> store) {
+    }
+
+    // lets a subclass drop what it kept for a namespace's store once its watch has been stopped
+    protected void storeEvicted(String namespace, ResourceStore<T, V> store) {
+    }
+
+    protected ResourceStore<T, V> getStore(String namespace) throws ApiException {
+        return getNamespace(namespace).store;
+    }
+
+    void evictIdle() {
+        long idleSince = System.currentTimeMillis() - idleMillis;
+        namespaces.forEach((namespace, cached) -> {
+            if (cached.lastUsed < idleSince) {
+                evict(namespace, cached);
+            }
+        });
+    }
+
+    void evict(String namespace) {
+        Namespace<T, V> cached = namespaces.get(namespace);
+        if (cached != null) {
+            evict(namespace, cached);
+        }
+    }
+
+    boolean isWatched(String namespace) {
+        return namespaces.containsKey(namespace);
+    }
+
+    private void evict(String namespace, Namespace<T, V> cached) {
+        if (namespaces.remove(namespace, cached)) {
+            log.debug("Stopping {} watch for namespace {}", kind, namespace);
+            cached.watcher.stop();
+            storeEvicted(namespace, cached.store);
+        }
+    }
+
+    private Namespace<T, V> getNamespace(String namespace) throws ApiException {
+        Namespace<T, V> cached = namespaces.get(namespace);
+        if (cached == null) {
+            // any string in a url ends up here, only namespaces the cluster has are worth a watch
+            if (!namespaceCache.exists(namespace)) {
+                throw new ApiException(HttpStatus.NOT_FOUND.value(), "Namespace " + namespace + " not found");
+            }
+            try {
+                cached = namespaces.computeIfAbsent(namespace, this::watchNamespace);
+            } catch (RejectedExecutionException e) {
+                throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                       "Too many namespaces are watched for " + kind);
+            }
+        }
+        cached.lastUsed = System.currentTimeMillis();
+        try {
+            cached.store.awaitSynced(syncTimeoutSeconds, TimeUnit.SECONDS);
+        } catch (ApiException e) {
+            evict(namespace, cached);
+            throw e;
+        }
+        return cached;
+    }
+
+    private Namespace<T, V> watchNamespace(String namespace) {
+        log.debug("Starting {} watch for namespace {}", kind, namespace);
+        ResourceStore<T, V> store = new ResourceStore<>(metadataFunction, viewFunction);
+        LabelIndex<T> index = new LabelIndex<>(metadataFunction);
+        store.addListener(index);
+        storeCreated(namespace, store);
+        ResourceWatcher<T> watcher = createWatcher(namespace, store);
+        try {
+            watchExecutor.execute(watcher);
+        } catch (RejectedExecutionException e) {
+            storeEvicted(namespace, store);
+            throw e;
+        }
+        return new Namespace<>(store, index, watcher);
+    }
+
+    private static class Namespace<T, V> {
+        private final ResourceStore<T, V> store;
+        private final LabelIndex<T> index;
+        private final ResourceWatcher<T> watcher;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        Namespace(ResourceStore<T, V> store, LabelIndex<T> index, ResourceWatcher<T> watcher) {
+            this.store = store;
+            this.index = index;
+            this.watcher = watcher;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.vogel.kubernetes.dashboard;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+@Getter
+public class Page<T> {
+    @Getter(AccessLevel.NONE)
+    private Supplier<List<T>> itemSupplier;
+    private List<T> items;
+    private PageRequest request;
+    private String nextToken;
+    private String version;
+
+    public Page(List<T> items, PageRequest request, String nextToken) {
+        this(() -> items, request, nextToken, null);
+    }
+
+    // the items are only built once a page is rendered, a page answered from its version never builds them
+    public Page(Supplier<List<T>> itemSupplier, PageRequest request, String nextToken, String version) {
+        this.itemSupplier = itemSupplier;
+        this.request = request;
+        this.nextToken = nextToken;
+        this.version = version;
+    }
+
+    public List<T> getItems() {
+        if (items == null) {
+            items = itemSupplier.get();
+        }
+        return items;
+    }
+
+    public int getLimit() {
+        return request.getLimit();
+    }
+
+    public boolean hasNext() {
+        return isNotEmpty(nextToken);
+    }
+
+    public boolean hasPrevious() {
+        return !request.isFirstPage();
+    }
+
+    public List<String> getNextHistory() {
+        // continue tokens only move forward, so the tokens of the pages already visited travel with the links
+        List<String> nextHistory = new ArrayList<>(request.getHistory());
+        nextHistory.add(defaultString(request.getContinueToken()));
+        return PageRequest.recent(nextHistory);
+    }
+
+    public String getPreviousToken() {
+        List<String> history = request.getHistory();
+        return history.isEmpty() ? "" : history.get(history.size() - 1);
+    }
+
+    public List<String> getPreviousHistory() {
+        List<String> history = request.getHistory();
+        return history.isEmpty() ? history : history.subList(0, history.size() - 1);
+    }
+}
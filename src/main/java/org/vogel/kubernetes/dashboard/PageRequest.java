@@ -0,0 +1,40 @@
+package org.vogel.kubernetes.dashboard;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+@Getter
+public class PageRequest {
+    public static final String DEFAULT_LIMIT = "${dashboard.page-size:100}";
+    public static final int MAX_LIMIT = 500;
+    // continue tokens are long, only the most recent ones travel with the links and going back past them lands on
+    // the first page
+    public static final int MAX_HISTORY = 10;
+
+    private int limit;
+    private String continueToken;
+    private List<String> history;
+
+    public PageRequest(int limit, String continueToken, List<String> history) {
+        this.limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        this.continueToken = isEmpty(continueToken) ? null : continueToken;
+        this.history = history == null ? Collections.emptyList() : recent(history);
+    }
+
+    public static PageRequest firstPage(int limit) {
+        return new PageRequest(limit, null, null);
+    }
+
+    public boolean isFirstPage() {
+        return continueToken == null;
+    }
+
+    static List<String> recent(List<String> history) {
+        return new ArrayList<>(history.subList(Math.max(0, history.size() - MAX_HISTORY), history.size()));
+    }
+}
@@ -1,9 +1,6 @@
 package org.vogel.kubernetes.dashboard;
 
 import io.kubernetes.client.models.V1Container;
-import io.kubernetes.client.models.V1ContainerState;
-import io.kubernetes.client.models.V1ContainerStateTerminated;
-import io.kubernetes.client.models.V1ContainerStateWaiting;
 import io.kubernetes.client.models.V1ContainerStatus;
 import io.kubernetes.client.models.V1ObjectMeta;
 import io.kubernetes.client.models.V1OwnerReference;
@@ -13,10 +10,8 @@ import io.kubernetes.client.models.V1PodSpec;
 import io.kubernetes.client.models.V1PodStatus;
 import io.kubernetes.client.models.V1Toleration;
 import lombok.Getter;
-import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.joda.time.DateTime;
-import org.thymeleaf.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -26,14 +21,10 @@ import java.util.Optional;
 
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static org.apache.commons.lang3.StringUtils.isBlank;
-import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
-import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.vogel.kubernetes.dashboard.FormatUtils.printMultiline;
 import static org.vogel.kubernetes.dashboard.FormatUtils.translateTimestamp;
 
-@Slf4j
 @Getter
 public class Pod extends Metadata {
     private String ready;
@@ -45,7 +36,6 @@ public class Pod extends Metadata {
     private String hostIp;
     private DateTime startTime;
     private DateTime deletionTimestamp;
-    private String deletionDuration;
     private long deletionGracePeriodSeconds;
     private String status;
     private String describeReason;
@@ -62,69 +52,16 @@ public class Pod extends Metadata {
 
     public Pod(V1Pod pod) {
         super(pod.getMetadata());
-        restarts = 0;
-        V1PodSpec podSpec = pod.getSpec();
-        int totalContainers = podSpec.getContainers()
-                .size();
-        int readyContainers = 0;
+        PodSummary summary = new PodSummary(pod);
+        ready = summary.getReady();
+        reason = summary.getReason();
+        restarts = summary.getRestarts();
 
+        V1PodSpec podSpec = pod.getSpec();
         V1PodStatus podStatus = pod.getStatus();
-        reason = podStatus.getPhase();
         describeReason = podStatus.getReason();
-        if (isNotBlank(describeReason)) {
-            reason = describeReason;
-        }
-
-        boolean initializing = false;
-        List<V1ContainerStatus> initContainerStatuses = podStatus.getInitContainerStatuses();
-        if (initContainerStatuses != null) {
-            initializing = processInitContainerStatuses(podSpec, initializing, initContainerStatuses);
-        }
-
-        List<V1ContainerStatus> containerStatuses = podStatus.getContainerStatuses();
-        if (!initializing) {
-            restarts = 0;
-            boolean hasRunning = false;
-            if (containerStatuses != null) {
-                for (int i = containerStatuses.size() - 1; i >= 0; i--) {
-                    V1ContainerStatus container = containerStatuses.get(i);
-
-                    restarts += container.getRestartCount();
-                    V1ContainerState containerState = container.getState();
-                    V1ContainerStateTerminated terminated = containerState.getTerminated();
-                    V1ContainerStateWaiting waiting = containerState.getWaiting();
-                    if (waiting != null && isNotEmpty(waiting.getReason())) {
-                        reason = waiting.getReason();
-                    } else if (terminated != null && isNotEmpty(terminated.getReason())) {
-                        reason = terminated.getReason();
-                    } else if (terminated != null && isEmpty(terminated.getReason())) {
-                        if (terminated.getSignal() != null && terminated.getSignal() != 0) {
-                            reason = String.format("Signal:%d", terminated.getSignal());
-                        } else {
-                            reason = String.format("ExitCode:%d", terminated.getExitCode());
-                        }
-                    } else if (Boolean.TRUE.equals(container.isReady()) && containerState.getRunning() != null) {
-                        hasRunning = true;
-                        readyContainers++;
-                    }
-
-                    // change pod status back to "Running" if there is at least one container still reporting as "Running" status
-                    if (reason.equals("Completed") && hasRunning) {
-                        reason = "Running";
-                    }
-                }
-            }
-        }
-
         V1ObjectMeta metadata = pod.getMetadata();
         deletionTimestamp = metadata.getDeletionTimestamp();
-        if (deletionTimestamp != null && StringUtils.equals("NodeLost", describeReason)) {
-            reason = "Unknown";
-        } else {
-            reason = "Terminating";
-        }
-
-        ready = String.format("%d/%d", readyContainers, totalContainers);
 
         priority = podSpec.getPriority();
         if (priority != null) {
@@ -135,12 +72,10 @@ public class Pod extends Metadata {
         startTime = podStatus.getStartTime();
 
         if (deletionTimestamp != null) {
-            deletionDuration = translateTimestamp(deletionTimestamp);
             deletionGracePeriodSeconds = metadata.getDeletionGracePeriodSeconds();
         }
 
-        status = podStatus.getPhase();
-        log.info("status = {}", status);
+        status = summary.getStatus();
         message = podStatus.getMessage();
         podIp = podStatus.getPodIP();
         List<V1OwnerReference> ownerReferences = metadata.getOwnerReferences();
@@ -154,6 +89,7 @@ public class Pod extends Metadata {
             }
         }
 
+        List<V1ContainerStatus> containerStatuses = podStatus.getContainerStatuses();
         List<V1Container> kubeInitContainers = podSpec.getInitContainers();
         if (kubeInitContainers != null) {
             initContainers = kubeInitContainers.stream()
@@ -182,41 +118,8 @@ public class Pod extends Metadata {
         printPodTolerations(podSpec.getTolerations());
     }
 
-    private boolean processInitContainerStatuses(V1PodSpec podSpec, boolean initializing,
-                                                 List<V1ContainerStatus> initContainerStatuses) {
-        for (int i = 0; i < initContainerStatuses.size(); i++) {
-            V1ContainerStatus container = initContainerStatuses.get(i);
-            restarts += container.getRestartCount();
-
-            V1ContainerState containerState = container.getState();
-            V1ContainerStateTerminated terminated = containerState.getTerminated();
-            V1ContainerStateWaiting waiting = containerState.getWaiting();
-            if (terminated != null && terminated.getExitCode() == 0) {
-                continue;
-            } else if (terminated != null) {
-                // initialization is failed
-                if (isBlank(terminated.getReason())) {
-                    if (terminated.getSignal() != 0) {
-                        reason = String.format("Init:Signal:%d", terminated.getSignal());
-                    } else {
-                        reason = String.format("Init:ExitCode:%d", terminated.getExitCode());
-                    }
-                } else {
-                    reason = "Init:" + terminated.getReason();
-                }
-                initializing = true;
-            } else if (waiting != null && isNotBlank(waiting.getReason()) && !waiting.getReason()
-                    .equals("PodInitializing")) {
-                reason = "Init:" + waiting.getReason();
-                initializing = true;
-            } else {
-                reason = String.format("Init:%d/%d", i, podSpec.getInitContainers()
-                        .size());
-                initializing = true;
-            }
-            break;
-        }
-        return initializing;
+    public String getDeletionDuration() {
+        return deletionTimestamp == null ? null : translateTimestamp(deletionTimestamp);
     }
 
     private void printPodTolerations(List<V1Toleration> podSpecTolerations) {
@@ -0,0 +1,74 @@
+package org.vogel.kubernetes.dashboard;
+
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.apis.CoreV1Api;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodList;
+import io.kubernetes.client.util.Watch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+import static org.vogel.kubernetes.dashboard.ResourceWatcher.WATCH_TIMEOUT_SECONDS;
+
+@Component
+public class PodCache extends NamespacedCache<V1Pod, PodSummary> {
+
+    private static final Type WATCH_TYPE = new TypeToken<Watch.Response<V1Pod>>() {
+    }.getType();
+
+    public PodCache(NamespaceCache namespaceCache,
+                    @Value("${dashboard.cache.sync-timeout-seconds:30}") long syncTimeoutSeconds,
+                    @Value("${dashboard.cache.max-namespaces:64}") int maxNamespaces,
+                    @Value("${dashboard.cache.idle-minutes:30}") long idleMinutes) throws IOException {
+        super("pod", V1Pod::getMetadata, PodSummary::new, namespaceCache, syncTimeoutSeconds, maxNamespaces,
+              idleMinutes);
+    }
+
+    public Page<PodSummary> getPods(String namespace, PageRequest pageRequest) throws ApiException {
+        ResourceStore<V1Pod, PodSummary> store = getStore(namespace);
+        // the cache is ordered by name, so the last name on a page is the continue token for the next one
+        List<V1Pod> pods = store.getItemsAfter(pageRequest.getContinueToken(), pageRequest.getLimit() + 1);
+        String nextToken = null;
+        if (pods.size() > pageRequest.getLimit()) {
+            pods = pods.subList(0, pageRequest.getLimit());
+            nextToken = pods.get(pods.size() - 1)
+                    .getMetadata()
+                    .getName();
+        }
+        List<V1Pod> page = pods;
+        String version = new ETagBuilder().add(page, V1Pod::getMetadata)
+                .add(nextToken)
+                .build();
+        return new Page<>(() -> page.stream()
+                .map(store::viewOf)
+                .collect(toList()), pageRequest, nextToken, version);
+    }
+
+    public Optional<V1Pod> getPod(String namespace, String podName) throws ApiException {
+        return getStore(namespace).getItem(podName);
+    }
+
+    @Override
+    protected ResourceWatcher<V1Pod> createWatcher(String namespace, ResourceStore<V1Pod, ?> store) {
+        CoreV1Api api = new CoreV1Api(apiClient);
+        return new ResourceWatcher<>(
+                String.format("pods in %s", namespace), apiClient,
+                () -> {
+                    V1PodList podList = api.listNamespacedPod(namespace, null, null, null, null, null, null, null,
+                                                              null, null);
+                    return new ResourceWatcher.Snapshot<>(podList.getItems(), podList.getMetadata()
+                            .getResourceVersion());
+                },
+                resourceVersion -> api.listNamespacedPodCall(namespace, null, null, null, null, null, null,
+                                                             resourceVersion, WATCH_TIMEOUT_SECONDS, true, null,
+                                                             null),
+                WATCH_TYPE, V1Pod::getMetadata, store);
+    }
+}
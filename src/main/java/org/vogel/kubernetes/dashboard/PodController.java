@@ -2,17 +2,43 @@ package org.vogel.kubernetes.dashboard;
 
 import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.vogel.kubernetes.dashboard.log.LogCopier;
+import org.vogel.kubernetes.dashboard.log.LogFollowService;
+import org.vogel.kubernetes.dashboard.log.LogLines;
+import org.vogel.kubernetes.dashboard.log.LogOptions;
+import org.vogel.kubernetes.dashboard.log.LogSearch;
+import org.vogel.kubernetes.dashboard.log.LogSpoolService;
 
 import javax.validation.constraints.NotNull;
-import java.util.Arrays;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
-import static java.util.stream.Collectors.toList;
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
+import static org.vogel.kubernetes.dashboard.log.LogOptions.DEFAULT_LIMIT_BYTES;
+import static org.vogel.kubernetes.dashboard.log.LogOptions.DEFAULT_TAIL_LINES;
+import static org.vogel.kubernetes.dashboard.log.LogResponses.APPLICATION_GZIP;
+import static org.vogel.kubernetes.dashboard.log.LogResponses.TEXT_PLAIN_UTF8;
+import static org.vogel.kubernetes.dashboard.log.LogResponses.toHttpStatus;
 
 @Slf4j
 @Controller
@@ -20,59 +46,215 @@ import static java.util.stream.Collectors.toList;
 public class PodController {
 
     private KubernetesUtils kubeUtils;
+    private LogFollowService logFollowService;
+    private LogSpoolService logSpoolService;
+    private ResourceExecutors resourceExecutors;
 
-    public PodController(KubernetesUtils kubeUtils) {
+    public PodController(KubernetesUtils kubeUtils, LogFollowService logFollowService, LogSpoolService logSpoolService,
+                         ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.logFollowService = logFollowService;
+        this.logSpoolService = logSpoolService;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listPods(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listPods(Model model, WebRequest request,
+                                              @PathVariable("namespace") String namespace,
+                                              @RequestParam(value = "limit", defaultValue = DEFAULT_LIMIT) int limit,
+                                              @RequestParam(value = "continue", required = false) String continueToken,
+                                              @RequestParam(value = "history", required = false) List<String> history) {
         log.debug("In listPods with namespace: {}", namespace);
-        try {
-            model.addAttribute("pods", kubeUtils.getPods(namespace));
+        return resourceExecutors.render("pods", "Error getting list of pods", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<PodSummary> page = kubeUtils.getPods(namespace, pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("pods", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "pods";
-        } catch (ApiException e) {
-            log.error("Error getting list of pods", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{podName}")
-    public String describePod(Model model, @PathVariable("namespace") @NotNull String namespace,
-                              @PathVariable @NotNull String podName) {
+    public CompletableFuture<Object> describePod(Model model, WebRequest request,
+                                                 @PathVariable("namespace") @NotNull String namespace,
+                                                 @PathVariable @NotNull String podName) {
         log.debug("In describePod with namespace: {} and pod: {}", namespace, podName);
-        try {
-            Pod pod = kubeUtils.getPod(namespace, podName);
-            model.addAttribute("pod", pod);
+        return resourceExecutors.render("pods", "Error getting pod", () -> {
+            Versioned<Pod> pod = kubeUtils.getPod(namespace, podName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "Pod", podName, pod.getUid());
+            String eTag = new ETagBuilder().add(pod.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("pod", pod.get());
             model.addAttribute("podName", podName);
-            model.addAttribute("events", kubeUtils.getEvents(namespace, "Pod", podName, pod.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "pod_describe";
-        } catch (ApiException e) {
-            log.error("Error getting pod", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{podName}/logs")
     public String showPodLogs(Model model, @PathVariable("namespace") @NotNull String namespace,
-                              @PathVariable @NotNull String podName) {
+                              @PathVariable @NotNull String podName,
+                              @RequestParam(value = "tailLines", defaultValue = DEFAULT_TAIL_LINES) int tailLines,
+                              @RequestParam(value = "sinceSeconds", defaultValue = "0") int sinceSeconds,
+                              @RequestParam(value = "limitBytes", defaultValue = DEFAULT_LIMIT_BYTES) int limitBytes) {
         log.debug("In showPodLogs with namespace: {} and pod: {}", namespace, podName);
+        LogOptions options = new LogOptions(tailLines, sinceSeconds, limitBytes);
+        model.addAttribute("podName", podName);
+        model.addAttribute("namespace", namespace);
+        model.addAttribute("options", options);
+        model.addAttribute("earlier", options.isBounded() ? options.earlier() : null);
+        return "logs";
+    }
+
+    @GetMapping("/{podName}/logs/stream")
+    @Streaming
+    public ResponseEntity<StreamingResponseBody> streamPodLogs(@PathVariable("namespace") @NotNull String namespace,
+                                                               @PathVariable @NotNull String podName,
+                                                               @RequestParam(value = "tailLines",
+                                                                       defaultValue = DEFAULT_TAIL_LINES) int tailLines,
+                                                               @RequestParam(value = "sinceSeconds",
+                                                                       defaultValue = "0") int sinceSeconds,
+                                                               @RequestParam(value = "limitBytes",
+                                                                       defaultValue = DEFAULT_LIMIT_BYTES)
+                                                                       int limitBytes) {
+        log.debug("In streamPodLogs with namespace: {} and pod: {}", namespace, podName);
         try {
-            String[] splitLogs = kubeUtils.getPodLogs(namespace, podName)
-                    .split("\n");
-            List<String> logs = Arrays.stream(splitLogs)
-                    .map(line -> line.replace("\t", "        "))
-                    .collect(toList());
-            model.addAttribute("logs", logs);
-            model.addAttribute("podName", podName);
-            model.addAttribute("namespace", namespace);
-            return "logs";
+            InputStream logs = kubeUtils.streamPodLogs(namespace, podName,
+                                                       new LogOptions(tailLines, sinceSeconds, limitBytes));
+            StreamingResponseBody body = out -> {
+                try (InputStream in = logs) {
+                    LogCopier.copy(in, out);
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(body);
         } catch (ApiException e) {
             log.error("Error getting logs for pod {}", podName, e);
-            return "error";
+            return ResponseEntity.status(toHttpStatus(e))
+                    .build();
+        }
+    }
+
+    @GetMapping("/{podName}/logs/download")
+    @Streaming
+    public ResponseEntity<StreamingResponseBody> downloadPodLogs(@PathVariable("namespace") @NotNull String namespace,
+                                                                 @PathVariable @NotNull String podName) {
+        log.debug("In downloadPodLogs with namespace: {} and pod: {}", namespace, podName);
+        try {
+            InputStream logs = kubeUtils.streamPodLogs(namespace, podName);
+            StreamingResponseBody body = out -> {
+                try (InputStream in = logs) {
+                    LogCopier.compress(in, out);
+                }
+            };
+            ContentDisposition disposition = ContentDisposition.builder("attachment")
+                    .filename(namespace + "-" + podName + ".log.gz")
+                    .build();
+            return ResponseEntity.ok()
+                    .contentType(APPLICATION_GZIP)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                    .body(body);
+        } catch (ApiException e) {
+            log.error("Error getting logs for pod {}", podName, e);
+            return ResponseEntity.status(toHttpStatus(e))
+                    .build();
+        }
+    }
+
+    @GetMapping("/{podName}/logs/search")
+    @Streaming
+    public ResponseEntity<StreamingResponseBody> searchPodLogs(@PathVariable("namespace") @NotNull String namespace,
+                                                               @PathVariable @NotNull String podName,
+                                                               @RequestParam("q") String query,
+                                                               @RequestParam(value = "context", defaultValue = "2")
+                                                                       int context,
+                                                               @RequestParam(value = "max", defaultValue = "100")
+                                                                       int maxMatches,
+                                                               @RequestParam(value = "ignoreCase",
+                                                                       defaultValue = "false") boolean ignoreCase) {
+        log.debug("In searchPodLogs with namespace: {} and pod: {}", namespace, podName);
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(query, ignoreCase ? Pattern.CASE_INSENSITIVE : 0);
+        } catch (PatternSyntaxException e) {
+            String message = e.getMessage();
+            return ResponseEntity.badRequest()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        try {
+            InputStream logs = kubeUtils.streamPodLogs(namespace, podName);
+            LogSearch search = new LogSearch(pattern, context, maxMatches);
+            StreamingResponseBody body = out -> {
+                try (InputStream in = logs) {
+                    search.search(in, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(body);
+        } catch (ApiException e) {
+            log.error("Error getting logs for pod {}", podName, e);
+            return ResponseEntity.status(toHttpStatus(e))
+                    .build();
+        }
+    }
+
+    @GetMapping("/{podName}/logs/lines")
+    public ResponseEntity<LogLines> getPodLogLines(@PathVariable("namespace") @NotNull String namespace,
+                                                   @PathVariable @NotNull String podName,
+                                                   @RequestParam(value = "tailLines",
+                                                           defaultValue = DEFAULT_TAIL_LINES) int tailLines,
+                                                   @RequestParam(value = "sinceSeconds", defaultValue = "0")
+                                                           int sinceSeconds,
+                                                   @RequestParam(value = "limitBytes",
+                                                           defaultValue = DEFAULT_LIMIT_BYTES) int limitBytes,
+                                                   @RequestParam(value = "from", defaultValue = "-1") long from,
+                                                   @RequestParam(value = "count", defaultValue = "200") int count,
+                                                   @RequestParam(value = "refresh", defaultValue = "false")
+                                                           boolean refresh) {
+        log.debug("In getPodLogLines with namespace: {} and pod: {} from {}", namespace, podName, from);
+        try {
+            LogOptions options = new LogOptions(tailLines, sinceSeconds, limitBytes);
+            return ResponseEntity.ok(logSpoolService.getLines(namespace, podName, options, from, count, refresh));
+        } catch (ApiException e) {
+            log.error("Error getting logs for pod {}", podName, e);
+            return ResponseEntity.status(toHttpStatus(e))
+                    .build();
+        } catch (IOException e) {
+            log.error("Error reading spooled logs for pod {}", podName, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .build();
+        }
+    }
+
+    @GetMapping("/{podName}/logs/follow")
+    public ResponseEntity<SseEmitter> followPodLogs(@PathVariable("namespace") @NotNull String namespace,
+                                                    @PathVariable @NotNull String podName) {
+        log.debug("In followPodLogs with namespace: {} and pod: {}", namespace, podName);
+        try {
+            return ResponseEntity.ok()
+                    .body(logFollowService.follow(namespace, podName));
+        } catch (RejectedExecutionException e) {
+            log.warn("Rejecting a log follower of pod {}: {}", podName, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .build();
         }
     }
 }
@@ -0,0 +1,141 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ContainerState;
+import io.kubernetes.client.models.V1ContainerStateTerminated;
+import io.kubernetes.client.models.V1ContainerStateWaiting;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodStatus;
+import lombok.Getter;
+import org.joda.time.DateTime;
+import org.thymeleaf.util.StringUtils;
+
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+import static org.vogel.kubernetes.dashboard.FormatUtils.translateTimestamp;
+
+// the columns of the pod list, a Pod is only built for the describe page
+@Getter
+public class PodSummary {
+    private String name;
+    private String ready;
+    private String reason;
+    private String status;
+    private int restarts;
+    private DateTime creationTimestamp;
+
+    public PodSummary(V1Pod pod) {
+        V1ObjectMeta metadata = pod.getMetadata();
+        name = metadata.getName();
+        creationTimestamp = metadata.getCreationTimestamp();
+
+        V1PodSpec podSpec = pod.getSpec();
+        int totalContainers = podSpec.getContainers()
+                .size();
+        int readyContainers = 0;
+
+        V1PodStatus podStatus = pod.getStatus();
+        status = podStatus.getPhase();
+        reason = podStatus.getPhase();
+        if (isNotBlank(podStatus.getReason())) {
+            reason = podStatus.getReason();
+        }
+
+        boolean initializing = false;
+        List<V1ContainerStatus> initContainerStatuses = podStatus.getInitContainerStatuses();
+        if (initContainerStatuses != null) {
+            initializing = processInitContainerStatuses(podSpec, initializing, initContainerStatuses);
+        }
+
+        List<V1ContainerStatus> containerStatuses = podStatus.getContainerStatuses();
+        if (!initializing) {
+            restarts = 0;
+            boolean hasRunning = false;
+            if (containerStatuses != null) {
+                for (int i = containerStatuses.size() - 1; i >= 0; i--) {
+                    V1ContainerStatus container = containerStatuses.get(i);
+
+                    restarts += container.getRestartCount();
+                    V1ContainerState containerState = container.getState();
+                    V1ContainerStateTerminated terminated = containerState.getTerminated();
+                    V1ContainerStateWaiting waiting = containerState.getWaiting();
+                    if (waiting != null && isNotEmpty(waiting.getReason())) {
+                        reason = waiting.getReason();
+                    } else if (terminated != null && isNotEmpty(terminated.getReason())) {
+                        reason = terminated.getReason();
+                    } else if (terminated != null && isEmpty(terminated.getReason())) {
+                        if (terminated.getSignal() != null && terminated.getSignal() != 0) {
+                            reason = String.format("Signal:%d", terminated.getSignal());
+                        } else {
+                            reason = String.format("ExitCode:%d", terminated.getExitCode());
+                        }
+                    } else if (Boolean.TRUE.equals(container.isReady()) && containerState.getRunning() != null) {
+                        hasRunning = true;
+                        readyContainers++;
+                    }
+
+                    // change pod status back to "Running" if there is at least one container still reporting as "Running" status
+                    if (reason.equals("Completed") && hasRunning) {
+                        reason = "Running";
+                    }
+                }
+            }
+        }
+
+        if (metadata.getDeletionTimestamp() != null && StringUtils.equals("NodeLost", podStatus.getReason())) {
+            reason = "Unknown";
+        } else {
+            reason = "Terminating";
+        }
+
+        ready = String.format("%d/%d", readyContainers, totalContainers);
+    }
+
+    // worked out when the page is rendered, a cached summary would otherwise show the age it had when it was built
+    public String getAge() {
+        return translateTimestamp(creationTimestamp);
+    }
+
+    private boolean processInitContainerStatuses(V1PodSpec podSpec, boolean initializing,
+                                                 List<V1ContainerStatus> initContainerStatuses) {
+        for (int i = 0; i < initContainerStatuses.size(); i++) {
+            V1ContainerStatus container = initContainerStatuses.get(i);
+            restarts += container.getRestartCount();
+
+            V1ContainerState containerState = container.getState();
+            V1ContainerStateTerminated terminated = containerState.getTerminated();
+            V1ContainerStateWaiting waiting = containerState.getWaiting();
+            if (terminated != null && terminated.getExitCode() == 0) {
+                continue;
+            } else if (terminated != null) {
+                // initialization is failed
+                if (isBlank(terminated.getReason())) {
+                    if (terminated.getSignal() != 0) {
+                        reason = String.format("Init:Signal:%d", terminated.getSignal());
+                    } else {
+                        reason = String.format("Init:ExitCode:%d", terminated.getExitCode());
+                    }
+                } else {
+                    reason = "Init:" + terminated.getReason();
+                }
+                initializing = true;
+            } else if (waiting != null && isNotBlank(waiting.getReason()) && !waiting.getReason()
+                    .equals("PodInitializing")) {
+                reason = "Init:" + waiting.getReason();
+                initializing = true;
+            } else {
+                reason = String.format("Init:%d/%d", i, podSpec.getInitContainers()
+                        .size());
+                initializing = true;
+            }
+            break;
+        }
+        return initializing;
+    }
+}
@@ -0,0 +1,49 @@
+package org.vogel.kubernetes.dashboard;
+
+import com.google.gson.reflect.TypeToken;
+import io.kubernetes.client.apis.AppsV1beta2Api;
+import io.kubernetes.client.models.V1beta2ReplicaSet;
+import io.kubernetes.client.models.V1beta2ReplicaSetList;
+import io.kubernetes.client.util.Watch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.function.Function;
+
+import static org.vogel.kubernetes.dashboard.ResourceWatcher.WATCH_TIMEOUT_SECONDS;
+
+@Component
+public class ReplicaSetCache extends NamespacedCache<V1beta2ReplicaSet, V1beta2ReplicaSet> {
+
+    private static final Type WATCH_TYPE = new TypeToken<Watch.Response<V1beta2ReplicaSet>>() {
+    }.getType();
+
+    public ReplicaSetCache(NamespaceCache namespaceCache,
+                           @Value("${dashboard.cache.sync-timeout-seconds:30}") long syncTimeoutSeconds,
+                           @Value("${dashboard.cache.max-namespaces:64}") int maxNamespaces,
+                           @Value("${dashboard.cache.idle-minutes:30}") long idleMinutes) throws IOException {
+        super("replicaset", V1beta2ReplicaSet::getMetadata, Function.identity(), namespaceCache, syncTimeoutSeconds,
+              maxNamespaces, idleMinutes);
+    }
+
+    @Override
+    protected ResourceWatcher<V1beta2ReplicaSet> createWatcher(String namespace,
+                                                               ResourceStore<V1beta2ReplicaSet, ?> store) {
+        AppsV1beta2Api api = new AppsV1beta2Api(apiClient);
+        return new ResourceWatcher<>(
+                String.format("replica sets in %s", namespace), apiClient,
+                () -> {
+                    V1beta2ReplicaSetList replicaSetList = api.listNamespacedReplicaSet(namespace, null, null, null,
+                                                                                        null, null, null, null, null,
+                                                                                        null);
+                    return new ResourceWatcher.Snapshot<>(replicaSetList.getItems(), replicaSetList.getMetadata()
+                            .getResourceVersion());
+                },
+                resourceVersion -> api.listNamespacedReplicaSetCall(namespace, null, null, null, null, null, null,
+                                                                    resourceVersion, WATCH_TIMEOUT_SECONDS, true,
+                                                                    null, null),
+                WATCH_TYPE, V1beta2ReplicaSet::getMetadata, store);
+    }
+}
@@ -1,12 +1,16 @@
 package org.vogel.kubernetes.dashboard;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.apache.commons.collections4.map.LRUMap;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import static java.util.stream.Collectors.joining;
@@ -15,9 +19,23 @@ import static org.vogel.kubernetes.dashboard.FormatUtils.joinListWithCommas;
 
 @Getter
 public class Requirement {
+    private static final String QUALIFIED_NAME_FMT = "([A-Za-z0-9][-A-Za-z0-9_.]*)?[A-Za-z0-9]";
+    private static final String DNS_1123_SUBDOMAIN_FMT = "[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*";
+    private static final Pattern QUALIFIED_NAME = Pattern.compile(String.format("^%s$", QUALIFIED_NAME_FMT));
+    private static final Pattern DNS_1123_SUBDOMAIN = Pattern.compile(String.format("^%s$", DNS_1123_SUBDOMAIN_FMT));
+    private static final int VALIDATION_CACHE_SIZE = 4096;
+    private static final Map<String, Boolean> VALID_KEYS = Collections.synchronizedMap(
+            new LRUMap<>(VALIDATION_CACHE_SIZE));
+    private static final Map<String, Boolean> VALID_VALUES = Collections.synchronizedMap(
+            new LRUMap<>(VALIDATION_CACHE_SIZE));
+
     private String key;
     private String operation;
     private List<String> values;
+    @Getter(AccessLevel.NONE)
+    private Set<String> valueSet;
+    @Getter(AccessLevel.NONE)
+    private long bound;
 
     public Requirement(String key, String operation, List<String> values) throws RequirementException {
         validateLabelKey(key);
@@ -28,8 +46,36 @@ public class Requirement {
 
         this.key = key;
         this.operation = operation;
-        this.values = values;
+        this.values = new ArrayList<>(values);
         Collections.sort(this.values);
+        valueSet = new HashSet<>(values);
+        if (equalsAny(operation, "gt", "lt")) {
+            bound = Long.parseLong(values.get(0));
+        }
+    }
+
+    public boolean matches(Map<String, String> labels) {
+        String value = labels == null ? null : labels.get(key);
+        boolean hasKey = value != null || (labels != null && labels.containsKey(key));
+        switch (operation) {
+            case "=":
+            case "==":
+            case "in":
+                return hasKey && valueSet.contains(value);
+            case "!=":
+            case "notin":
+                return !hasKey || !valueSet.contains(value);
+            case "exists":
+                return hasKey;
+            case "!":
+                return !hasKey;
+            case "gt":
+                return isInteger(value) && Long.parseLong(value) > bound;
+            case "lt":
+                return isInteger(value) && Long.parseLong(value) < bound;
+            default:
+                return false;
+        }
     }
 
     public String string() {
@@ -71,7 +117,38 @@ public class Requirement {
         return builder.toString();
     }
 
+    // checks the digits by hand so that non-numeric label values don't cost an exception on every match
+    private static boolean isInteger(String value) {
+        if (value == null || value.isEmpty() || value.equals("-")) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && !(i == 0 && c == '-')) {
+                return false;
+            }
+        }
+        if (value.length() < 19) {
+            return true;
+        }
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
     private void validateLabelKey(String key) throws RequirementException {
+        if (VALID_KEYS.containsKey(key)) {
+            return;
+        }
+        if (isValidKey(key)) {
+            VALID_KEYS.put(key, Boolean.TRUE);
+            return;
+        }
+
+        // only keys the fast check rejects pay for the regular expressions and the error messages
         List<String> errs = isQualifiedName(key);
         if (!errs.isEmpty()) {
             String errMsg = String.format("invalid label key %s:%s", key, String.join(", ", errs));
@@ -80,6 +157,14 @@ public class Requirement {
     }
 
     private void validateLabelValue(String value) throws RequirementException {
+        if (VALID_VALUES.containsKey(value)) {
+            return;
+        }
+        if (isQualifiedNamePart(value, 0, value.length())) {
+            VALID_VALUES.put(value, Boolean.TRUE);
+            return;
+        }
+
         List<String> errs = isValidLabelValue(value);
         if (!errs.isEmpty()) {
             String errMsg = String.format("invalid label value %s:%s", value, String.join(", ", errs));
@@ -106,7 +191,7 @@ public class Requirement {
             }
             for (String value : values) {
                 try {
-                    Integer.parseInt(value);
+                    Long.parseLong(value);
                 } catch (NumberFormatException nfe) {
                     throw new RequirementException("for 'Gt', 'Lt' operators, the value must be an integer");
                 }
@@ -117,11 +202,65 @@ public class Requirement {
         }
     }
 
+    private static boolean isValidKey(String key) {
+        int slash = key.indexOf('/');
+        if (slash < 0) {
+            return isQualifiedNamePart(key, 0, key.length());
+        }
+        return key.indexOf('/', slash + 1) < 0 && isDNS1123Subdomain(key, 0, slash) &&
+                isQualifiedNamePart(key, slash + 1, key.length());
+    }
+
+    // hand-written equivalent of QUALIFIED_NAME limited to 63 characters
+    private static boolean isQualifiedNamePart(String value, int start, int end) {
+        int length = end - start;
+        if (length == 0 || length > 63) {
+            return false;
+        }
+        if (!isAlphanumeric(value.charAt(start)) || !isAlphanumeric(value.charAt(end - 1))) {
+            return false;
+        }
+        for (int i = start + 1; i < end - 1; i++) {
+            char c = value.charAt(i);
+            if (!isAlphanumeric(c) && c != '-' && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // hand-written equivalent of DNS_1123_SUBDOMAIN limited to 253 characters
+    private static boolean isDNS1123Subdomain(String value, int start, int end) {
+        int length = end - start;
+        if (length == 0 || length > 253) {
+            return false;
+        }
+        int labelStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || value.charAt(i) == '.') {
+                if (i == labelStart || !isLowerAlphanumeric(value.charAt(labelStart)) ||
+                        !isLowerAlphanumeric(value.charAt(i - 1))) {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isLowerAlphanumeric(value.charAt(i)) && value.charAt(i) != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLowerAlphanumeric(c) || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLowerAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
     private List<String> isQualifiedName(String value) {
         List<String> errs = new ArrayList<>();
 
-        String qualifiedNameFmt = "([A-Za-z0-9][-A-Za-z0-9_.]*)?[A-Za-z0-9]";
-
         String[] parts = value.split("/");
 
         String name = "";
@@ -148,7 +287,7 @@ public class Requirement {
                         "a qualified name %s with an optional DNS subdomain prefix and '/' (e.g. 'example.com/MyName')",
                         regexError(
                                 "must consist of alphanumeric characters, '-', '_' or '.', and must start and end with an alphanumeric character",
-                                qualifiedNameFmt, "MyName", "my.name", "123-abc")));
+                                QUALIFIED_NAME_FMT, "MyName", "my.name", "123-abc")));
         }
 
         if (name.length() == 0) {
@@ -156,12 +295,11 @@ public class Requirement {
         } else if (name.length() > 63) {
             errs.add("must be no more than 63 characters");
         }
-        Pattern pattern = Pattern.compile(String.format("^%s$", qualifiedNameFmt));
-        Matcher matcher = pattern.matcher(name);
-        if (!matcher.matches()) {
+        if (!QUALIFIED_NAME.matcher(name)
+                .matches()) {
             errs.add(String.format("name part %s", regexError(
                     "must consist of alphanumeric characters, '-', '_' or '.', and must start and end with an alphanumeric character",
-                    qualifiedNameFmt, "MyName", "my.name", "123-abc")));
+                    QUALIFIED_NAME_FMT, "MyName", "my.name", "123-abc")));
         }
 
         return errs;
@@ -174,13 +312,11 @@ public class Requirement {
             errs.add("must be no more than 253 characters");
         }
 
-        String dns1123SubdomainFmt = "[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*";
-        Pattern pattern = Pattern.compile(String.format("^%s$", dns1123SubdomainFmt));
-        Matcher matcher = pattern.matcher(value);
-        if (!matcher.matches()) {
+        if (!DNS_1123_SUBDOMAIN.matcher(value)
+                .matches()) {
             errs.add(regexError(
                     "a DNS-1123 subdomain must consist of lower case alphanumeric characters, '-' or '.', and must start and end with an alphanumeric character",
-                    dns1123SubdomainFmt, "example.com"));
+                    DNS_1123_SUBDOMAIN_FMT, "example.com"));
         }
 
         return errs;
@@ -200,13 +336,11 @@ public class Requirement {
             errs.add("must be no more than 63 characters");
         }
 
-        String qualifiedNameFmt = "([A-Za-z0-9][-A-Za-z0-9_.]*)?[A-Za-z0-9]";
-        Pattern pattern = Pattern.compile(String.format("^%s$", qualifiedNameFmt));
-        Matcher matcher = pattern.matcher(value);
-        if (!matcher.matches()) {
+        if (!QUALIFIED_NAME.matcher(value)
+                .matches()) {
             errs.add(regexError(
                     "a valid label must be an empty string or consist of alphanumeric characters, '-', '_' or '.', and must start and end with an alphanumeric character",
-                    qualifiedNameFmt, "MyValue", "my_value", "12345"));
+                    QUALIFIED_NAME_FMT, "MyValue", "my_value", "12345"));
         }
 
         return errs;
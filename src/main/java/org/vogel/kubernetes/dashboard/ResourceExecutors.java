@@ -0,0 +1,104 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// each kind of resource gets its own small pool, so a slow api endpoint can only use up the threads of its own pages
+@Slf4j
+@Component
+public class ResourceExecutors {
+
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+    private final int threads;
+    private final int queueSize;
+
+    public ResourceExecutors(@Value("${dashboard.executors.threads:4}") int threads,
+                             @Value("${dashboard.executors.queue-size:16}") int queueSize) {
+        this.threads = Math.max(1, threads);
+        this.queueSize = Math.max(1, queueSize);
+    }
+
+    public <T> CompletableFuture<T> submit(String kind, ApiCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            getExecutor(kind).execute(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    // a null view name means the page was answered with not modified
+    public CompletableFuture<Object> render(String kind, String errorMessage, ApiCall<String> page) {
+        return this.<Object>submit(kind, () -> {
+            ApiFallback.takeStaleSince();
+            String view = page.call();
+            DateTime staleSince = ApiFallback.takeStaleSince();
+            if (view == null) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .build();
+            } else if (staleSince != null) {
+                return new ModelAndView(view, "staleSince", staleSince);
+            }
+            return view;
+        }).handle((view, e) -> {
+            if (e == null) {
+                return view;
+            }
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) {
+                log.warn("Too many {} requests in progress, turning one away", kind);
+                return new ModelAndView("error", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            log.error(errorMessage, cause);
+            return "error";
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values()
+                .forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    private ThreadPoolExecutor getExecutor(String kind) {
+        return executors.computeIfAbsent(kind, this::createExecutor);
+    }
+
+    private ThreadPoolExecutor createExecutor(String kind) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                                                             new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, kind + "-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public interface ApiCall<T> {
+        T call() throws ApiException;
+    }
+}
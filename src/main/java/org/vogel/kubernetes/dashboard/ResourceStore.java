@@ -0,0 +1,196 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1ObjectMeta;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+public class ResourceStore<T, V> {
+    private final Function<T, V1ObjectMeta> metadataFunction;
+    private final Function<T, V> viewFunction;
+    private final Map<String, Entry<T, V>> entriesByUid = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, String> uidsByName = new ConcurrentSkipListMap<>();
+    private final List<StoreListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private final CountDownLatch synced = new CountDownLatch(1);
+    private volatile ApiException syncError;
+
+    public ResourceStore(Function<T, V1ObjectMeta> metadataFunction, Function<T, V> viewFunction) {
+        this.metadataFunction = metadataFunction;
+        this.viewFunction = viewFunction;
+    }
+
+    public void addListener(StoreListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized void replace(List<T> items) {
+        Set<String> listedUids = new HashSet<>();
+        for (T item : items) {
+            upsert(item);
+            listedUids.add(metadataFunction.apply(item)
+                                   .getUid());
+        }
+        List<Entry<T, V>> removed = entriesByUid.values()
+                .stream()
+                .filter(entry -> !listedUids.contains(entry.uid))
+                .collect(toList());
+        for (Entry<T, V> entry : removed) {
+            entriesByUid.remove(entry.uid);
+            uidsByName.remove(entry.name, entry.uid);
+            listeners.forEach(listener -> listener.deleted(entry.item));
+        }
+        syncError = null;
+        synced.countDown();
+    }
+
+    public synchronized void upsert(T item) {
+        V1ObjectMeta metadata = metadataFunction.apply(item);
+        Entry<T, V> existing = entriesByUid.get(metadata.getUid());
+        if (existing != null && existing.isVersion(metadata.getResourceVersion())) {
+            return;
+        }
+        Entry<T, V> entry = new Entry<>(item, metadata);
+        entriesByUid.put(entry.uid, entry);
+        uidsByName.put(entry.name, entry.uid);
+        if (existing == null) {
+            listeners.forEach(listener -> listener.added(item));
+        } else {
+            listeners.forEach(listener -> listener.updated(existing.item, item));
+        }
+    }
+
+    public synchronized void delete(T item) {
+        V1ObjectMeta metadata = metadataFunction.apply(item);
+        Entry<T, V> removed = entriesByUid.remove(metadata.getUid());
+        if (removed != null) {
+            uidsByName.remove(removed.name, removed.uid);
+            listeners.forEach(listener -> listener.deleted(removed.item));
+        }
+    }
+
+    public void failSync(ApiException e) {
+        syncError = e;
+        synced.countDown();
+    }
+
+    public void awaitSynced(long timeout, TimeUnit unit) throws ApiException {
+        try {
+            if (!synced.await(timeout, unit)) {
+                throw new ApiException("Timed out waiting for the initial list");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new ApiException(e);
+        }
+        if (syncError != null) {
+            throw syncError;
+        }
+    }
+
+    public List<T> getItems() {
+        return entries().map(entry -> entry.item)
+                .collect(toList());
+    }
+
+    public List<V> getViews() {
+        return entries().map(this::view)
+                .collect(toList());
+    }
+
+    public List<T> getItemsAfter(String name, int limit) {
+        return entriesAfter(name, limit).map(entry -> entry.item)
+                .collect(toList());
+    }
+
+    public Optional<T> getItem(String name) {
+        return entry(name).map(entry -> entry.item);
+    }
+
+    public Optional<V> getView(String name) {
+        return entry(name).map(this::view);
+    }
+
+    // the view built for this very item if it is still the stored one, a new view otherwise
+    public V viewOf(T item) {
+        Entry<T, V> entry = entriesByUid.get(metadataFunction.apply(item)
+                                                     .getUid());
+        return entry != null && entry.item == item ? view(entry) : viewFunction.apply(item);
+    }
+
+    public int size() {
+        return entriesByUid.size();
+    }
+
+    private Stream<Entry<T, V>> entries() {
+        return uidsByName.values()
+                .stream()
+                .map(entriesByUid::get)
+                .filter(Objects::nonNull);
+    }
+
+    private Stream<Entry<T, V>> entriesAfter(String name, int limit) {
+        Map<String, String> tail = name == null ? uidsByName : uidsByName.tailMap(name, false);
+        return tail.values()
+                .stream()
+                .map(entriesByUid::get)
+                .filter(Objects::nonNull)
+                .limit(limit);
+    }
+
+    private Optional<Entry<T, V>> entry(String name) {
+        return Optional.ofNullable(uidsByName.get(name))
+                .map(entriesByUid::get);
+    }
+
+    private V view(Entry<T, V> entry) {
+        V view = entry.view;
+        if (view == null) {
+            view = viewFunction.apply(entry.item);
+            entry.view = view;
+        }
+        return view;
+    }
+
+    public interface StoreListener<T> {
+        void added(T item);
+
+        void updated(T oldItem, T newItem);
+
+        void deleted(T item);
+    }
+
+    private static class Entry<T, V> {
+        private final T item;
+        private final String uid;
+        private final String name;
+        private final String resourceVersion;
+        private volatile V view;
+
+        Entry(T item, V1ObjectMeta metadata) {
+            this.item = item;
+            uid = metadata.getUid();
+            name = metadata.getName();
+            resourceVersion = metadata.getResourceVersion();
+        }
+
+        boolean isVersion(String otherResourceVersion) {
+            return resourceVersion != null && resourceVersion.equals(otherResourceVersion);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.vogel.kubernetes.dashboard;
+
+import com.squareup.okhttp.Call;
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Status;
+import io.kubernetes.client.util.Config;
+import io.kubernetes.client.util.Watch;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+public class ResourceWatcher<T> implements Runnable {
+
+    public static final int WATCH_TIMEOUT_SECONDS = 300;
+    private static final long RETRY_DELAY_MILLIS = 5000;
+    private static final int GONE = 410;
+
+    private final String name;
+    private final ApiClient apiClient;
+    private final Lister<T> lister;
+    private final WatchCallFactory watchCallFactory;
+    private final Type watchType;
+    private final Function<T, V1ObjectMeta> metadataFunction;
+    private final ResourceStore<T, ?> store;
+    private volatile boolean running = true;
+    private volatile Watch<T> currentWatch;
+
+    public ResourceWatcher(String name, ApiClient apiClient, Lister<T> lister, WatchCallFactory watchCallFactory,
+                           Type watchType, Function<T, V1ObjectMeta> metadataFunction, ResourceStore<T, ?> store) {
+        this.name = name;
+        this.apiClient = apiClient;
+        this.lister = lister;
+        this.watchCallFactory = watchCallFactory;
+        this.watchType = watchType;
+        this.metadataFunction = metadataFunction;
+        this.store = store;
+    }
+
+    public static ApiClient createWatchClient() throws IOException {
+        ApiClient client = Config.defaultClient();
+        client.getHttpClient()
+                .setReadTimeout(0, TimeUnit.SECONDS);
+        return client;
+    }
+
+    @Override
+    public void run() {
+        String resourceVersion = null;
+        boolean synced = false;
+        while (running) {
+            try {
+                if (resourceVersion == null) {
+                    Snapshot<T> snapshot = lister.list();
+                    store.replace(snapshot.getItems());
+                    resourceVersion = snapshot.getResourceVersion();
+                    synced = true;
+                    log.debug("Listed {} {} at resourceVersion {}", snapshot.getItems()
+                            .size(), name, resourceVersion);
+                }
+                resourceVersion = watch(resourceVersion);
+            } catch (ApiException e) {
+                if (!synced) {
+                    log.error("Initial list of {} failed", name, e);
+                    store.failSync(e);
+                    return;
+                }
+                log.warn("Watch of {} failed, relisting", name, e);
+                resourceVersion = null;
+                pause();
+            } catch (RuntimeException e) {
+                if (running) {
+                    log.warn("Watch of {} was interrupted, resuming", name, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    public void stop() {
+        running = false;
+        Watch<T> watch = currentWatch;
+        if (watch != null) {
+            try {
+                watch.close();
+            } catch (IOException e) {
+                log.debug("Error closing watch of {}", name, e);
+            }
+        }
+    }
+
+    private String watch(String resourceVersion) throws ApiException {
+        String lastResourceVersion = resourceVersion;
+        try (Watch<T> watch = Watch.createWatch(apiClient, watchCallFactory.create(resourceVersion), watchType)) {
+            currentWatch = watch;
+            for (Watch.Response<T> event : watch) {
+                if ("ERROR".equals(event.type)) {
+                    return handleError(event.status, lastResourceVersion);
+                }
+                T item = event.object;
+                lastResourceVersion = metadataFunction.apply(item)
+                        .getResourceVersion();
+                if ("DELETED".equals(event.type)) {
+                    store.delete(item);
+                } else {
+                    store.upsert(item);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Error closing watch of {}", name, e);
+        } finally {
+            currentWatch = null;
+        }
+        return lastResourceVersion;
+    }
+
+    private String handleError(V1Status status, String resourceVersion) throws ApiException {
+        if (status != null && status.getCode() != null && status.getCode() == GONE) {
+            log.debug("resourceVersion {} for {} is too old, relisting", resourceVersion, name);
+            return null;
+        }
+        String message = status == null ? "unknown watch error" : status.getMessage();
+        throw new ApiException(message);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            running = false;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Lister<T> {
+        Snapshot<T> list() throws ApiException;
+    }
+
+    @FunctionalInterface
+    public interface WatchCallFactory {
+        Call create(String resourceVersion) throws ApiException;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot<T> {
+        private final List<T> items;
+        private final String resourceVersion;
+    }
+}
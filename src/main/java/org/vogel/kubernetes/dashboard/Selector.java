@@ -1,16 +1,76 @@
 package org.vogel.kubernetes.dashboard;
 
+import io.kubernetes.client.models.V1LabelSelector;
+import io.kubernetes.client.models.V1LabelSelectorRequirement;
 import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static java.util.stream.Collectors.joining;
 
 @Getter
 public class Selector {
+    private static final Pattern SET_REQUIREMENT = Pattern.compile("^(\\S+)\\s+(in|notin)\\s*\\((.*)\\)$");
+
     private List<Requirement> requirements = new ArrayList<>();
 
+    public static Selector fromLabelSelector(@Nullable V1LabelSelector labelSelector) throws RequirementException {
+        Selector selector = new Selector();
+        if (labelSelector == null) {
+            return selector;
+        }
+        if (labelSelector.getMatchLabels() != null) {
+            for (Map.Entry<String, String> entry : labelSelector.getMatchLabels()
+                    .entrySet()) {
+                List<String> values = Collections.singletonList(entry.getValue());
+                Requirement requirement = new Requirement(entry.getKey(), "=", values);
+                selector.add(requirement);
+            }
+        }
+        if (labelSelector.getMatchExpressions() != null) {
+            for (V1LabelSelectorRequirement expression : labelSelector.getMatchExpressions()) {
+                String op = convertOperatorValue(expression);
+                List<String> values = expression.getValues() == null ? Collections.emptyList() : expression.getValues();
+                Requirement requirement = new Requirement(expression.getKey(), op, values);
+                selector.add(requirement);
+            }
+        }
+        return selector;
+    }
+
+    public static Selector parse(@Nullable String labelSelector) throws RequirementException {
+        Selector selector = new Selector();
+        if (StringUtils.isBlank(labelSelector)) {
+            return selector;
+        }
+
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < labelSelector.length(); i++) {
+            char c = labelSelector.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                selector.add(parseRequirement(labelSelector.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        if (depth != 0) {
+            throw new RequirementException(String.format("unbalanced parentheses in selector %s", labelSelector));
+        }
+        selector.add(parseRequirement(labelSelector.substring(start)));
+        return selector;
+    }
+
     public void add(Requirement requirement) {
         requirements.add(requirement);
     }
@@ -19,9 +79,95 @@ public class Selector {
         return requirements.isEmpty();
     }
 
+    public boolean matches(Map<String, String> labels) {
+        for (int i = 0; i < requirements.size(); i++) {
+            if (!requirements.get(i)
+                    .matches(labels)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public String string() {
         return requirements.stream()
                 .map(Requirement::string)
                 .collect(joining(","));
     }
+
+    private static Requirement parseRequirement(String text) throws RequirementException {
+        String requirement = text.trim();
+        if (requirement.isEmpty()) {
+            throw new RequirementException("found '', expected: identifier");
+        }
+        if (requirement.startsWith("!")) {
+            return new Requirement(requirement.substring(1)
+                                           .trim(), "!", Collections.emptyList());
+        }
+
+        Matcher matcher = SET_REQUIREMENT.matcher(requirement);
+        if (matcher.matches()) {
+            List<String> values = new ArrayList<>();
+            if (StringUtils.isNotBlank(matcher.group(3))) {
+                for (String value : matcher.group(3)
+                        .split(",", -1)) {
+                    values.add(value.trim());
+                }
+            }
+            return new Requirement(matcher.group(1), matcher.group(2), values);
+        }
+
+        int index = StringUtils.indexOfAny(requirement, "=!<>");
+        if (index < 0) {
+            return new Requirement(requirement, "exists", Collections.emptyList());
+        }
+
+        String key = requirement.substring(0, index)
+                .trim();
+        String op;
+        int opLength = 1;
+        if (requirement.startsWith("!=", index)) {
+            op = "!=";
+            opLength = 2;
+        } else if (requirement.startsWith("==", index)) {
+            op = "==";
+            opLength = 2;
+        } else if (requirement.startsWith("=", index)) {
+            op = "=";
+        } else if (requirement.startsWith(">", index)) {
+            op = "gt";
+        } else if (requirement.startsWith("<", index)) {
+            op = "lt";
+        } else {
+            String msg = String.format("found '%s', expected: '=', '!=', '==', 'in', 'notin'",
+                                       requirement.substring(index));
+            throw new RequirementException(msg);
+        }
+        String value = requirement.substring(index + opLength)
+                .trim();
+        return new Requirement(key, op, Collections.singletonList(value));
+    }
+
+    private static String convertOperatorValue(V1LabelSelectorRequirement expression) throws RequirementException {
+        String op;
+        switch (expression.getOperator()) {
+            case "In":
+                op = "in";
+                break;
+            case "NotIn":
+                op = "notin";
+                break;
+            case "Exists":
+                op = "exists";
+                break;
+            case "DoesNotExist":
+                op = "!";
+                break;
+            default:
+                String msg = String.format("%s is not a valid pod selector operator",
+                                           expression.getOperator());
+                throw new RequirementException(msg);
+        }
+        return op;
+    }
 }
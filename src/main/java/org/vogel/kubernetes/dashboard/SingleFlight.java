@@ -0,0 +1,73 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.ResourceExecutors.ApiCall;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// identical api reads that overlap share the first caller's request, everyone who arrives while it is running gets
+// its result or its exception
+@Component
+public class SingleFlight {
+
+    public static final String CALLS_METRIC = "dashboard.api.single.flight";
+    public static final String IN_FLIGHT_METRIC = "dashboard.api.single.flight.in.flight";
+
+    private final Map<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(IN_FLIGHT_METRIC, flights, Map::size)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T call(String method, String namespace, String key, ApiCall<T> call) throws ApiException {
+        String flightKey = String.join("/", method, String.valueOf(namespace), String.valueOf(key));
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = flights.putIfAbsent(flightKey, flight);
+        if (running != null) {
+            count(method, namespace, "coalesced");
+            return (T) await(running);
+        }
+
+        count(method, namespace, "issued");
+        try {
+            T result = call.call();
+            flight.complete(result);
+            return result;
+        } catch (ApiException | RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) throws ApiException {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException) {
+                throw (ApiException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    private void count(String method, String namespace, String flight) {
+        meterRegistry.counter(CALLS_METRIC, "method", method, "namespace", namespace == null ? "" : namespace,
+                              "flight", flight)
+                .increment();
+    }
+}
@@ -0,0 +1,13 @@
+package org.vogel.kubernetes.dashboard;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// marks a handler whose response is streamed for as long as a log takes, it gets the streaming timeout instead of
+// spring.mvc.async.request-timeout
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Streaming {
+}
@@ -0,0 +1,30 @@
+package org.vogel.kubernetes.dashboard;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Callable;
+
+// a streamed body runs as an async callable, its timeout can still be changed right before the request goes async
+public class StreamingTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private final long timeoutMillis;
+
+    public StreamingTimeoutInterceptor(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                                              RequestAttributes.SCOPE_REQUEST);
+        if (request instanceof AsyncWebRequest && handler instanceof HandlerMethod && ((HandlerMethod) handler)
+                .hasMethodAnnotation(Streaming.class)) {
+            ((AsyncWebRequest) request).setTimeout(timeoutMillis);
+        }
+    }
+}
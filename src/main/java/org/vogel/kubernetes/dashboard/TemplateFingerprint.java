@@ -0,0 +1,68 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodTemplateSpec;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class TemplateFingerprint {
+    public static final String POD_TEMPLATE_HASH = "pod-template-hash";
+
+    private final V1ObjectMeta metadata;
+    private final V1PodSpec spec;
+    private final int hash;
+
+    public TemplateFingerprint(V1PodTemplateSpec template) {
+        metadata = withoutTemplateHash(template.getMetadata());
+        spec = template.getSpec();
+        hash = Objects.hash(metadata, spec);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TemplateFingerprint that = (TemplateFingerprint) o;
+        return hash == that.hash && Objects.equals(metadata, that.metadata) && Objects.equals(spec, that.spec);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static V1ObjectMeta withoutTemplateHash(V1ObjectMeta metadata) {
+        if (metadata == null || metadata.getLabels() == null || !metadata.getLabels()
+                .containsKey(POD_TEMPLATE_HASH)) {
+            return metadata;
+        }
+
+        Map<String, String> labels = new HashMap<>(metadata.getLabels());
+        labels.remove(POD_TEMPLATE_HASH);
+        V1ObjectMeta copy = new V1ObjectMeta();
+        copy.setAnnotations(metadata.getAnnotations());
+        copy.setClusterName(metadata.getClusterName());
+        copy.setCreationTimestamp(metadata.getCreationTimestamp());
+        copy.setDeletionGracePeriodSeconds(metadata.getDeletionGracePeriodSeconds());
+        copy.setDeletionTimestamp(metadata.getDeletionTimestamp());
+        copy.setFinalizers(metadata.getFinalizers());
+        copy.setGenerateName(metadata.getGenerateName());
+        copy.setGeneration(metadata.getGeneration());
+        copy.setInitializers(metadata.getInitializers());
+        copy.setLabels(labels);
+        copy.setName(metadata.getName());
+        copy.setNamespace(metadata.getNamespace());
+        copy.setOwnerReferences(metadata.getOwnerReferences());
+        copy.setResourceVersion(metadata.getResourceVersion());
+        copy.setSelfLink(metadata.getSelfLink());
+        copy.setUid(metadata.getUid());
+        return copy;
+    }
+}
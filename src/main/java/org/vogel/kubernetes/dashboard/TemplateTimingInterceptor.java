@@ -0,0 +1,40 @@
+package org.vogel.kubernetes.dashboard;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+// the view is rendered between postHandle and afterCompletion, for async pages both happen on the dispatch that
+// carries the result
+public class TemplateTimingInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = TemplateTimingInterceptor.class.getName() + ".start";
+    private static final String VIEW_ATTRIBUTE = TemplateTimingInterceptor.class.getName() + ".view";
+
+    private final DashboardMetrics metrics;
+
+    public TemplateTimingInterceptor(DashboardMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null) {
+            request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            metrics.recordTemplate((String) request.getAttribute(VIEW_ATTRIBUTE), System.nanoTime() - (Long) start);
+        }
+    }
+}
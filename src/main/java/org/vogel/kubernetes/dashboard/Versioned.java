@@ -0,0 +1,30 @@
+package org.vogel.kubernetes.dashboard;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.function.Supplier;
+
+// the version is known as soon as the objects are read, the view is only built if the page has to be rendered
+@Getter
+public class Versioned<V> {
+    private final String uid;
+    private final String version;
+    @Getter(AccessLevel.NONE)
+    private final Supplier<V> supplier;
+    @Getter(AccessLevel.NONE)
+    private V value;
+
+    public Versioned(String uid, String version, Supplier<V> supplier) {
+        this.uid = uid;
+        this.version = version;
+        this.supplier = supplier;
+    }
+
+    public V get() {
+        if (value == null) {
+            value = supplier.get();
+        }
+        return value;
+    }
+}
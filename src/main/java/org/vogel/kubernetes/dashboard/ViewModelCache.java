@@ -0,0 +1,55 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import lombok.AllArgsConstructor;
+import org.apache.commons.collections4.map.LRUMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+
+// an object that hasn't changed has the same resource version, so the view built for it last time is still right
+@Component
+public class ViewModelCache {
+
+    private final Map<String, VersionedView> views;
+
+    public ViewModelCache(@Value("${dashboard.cache.view-models.max-size:4096}") int maxSize) {
+        views = Collections.synchronizedMap(new LRUMap<>(Math.max(1, maxSize)));
+    }
+
+    public <T, V> V get(Class<V> type, V1ObjectMeta metadata, T item, Function<T, V> creator) {
+        String uid = metadata == null ? null : metadata.getUid();
+        String resourceVersion = metadata == null ? null : metadata.getResourceVersion();
+        if (uid == null || resourceVersion == null) {
+            return creator.apply(item);
+        }
+
+        String key = type.getName() + "/" + uid;
+        VersionedView cached = views.get(key);
+        if (cached != null && cached.resourceVersion.equals(resourceVersion)) {
+            return type.cast(cached.view);
+        }
+
+        V view = creator.apply(item);
+        views.put(key, new VersionedView(resourceVersion, view));
+        return view;
+    }
+
+    public <T, V> Function<T, V> creator(Class<V> type, Function<T, V1ObjectMeta> metadataFunction,
+                                         Function<T, V> creator) {
+        return item -> get(type, metadataFunction.apply(item), item, creator);
+    }
+
+    public int size() {
+        return views.size();
+    }
+
+    @AllArgsConstructor
+    private static class VersionedView {
+        private final String resourceVersion;
+        private final Object view;
+    }
+}
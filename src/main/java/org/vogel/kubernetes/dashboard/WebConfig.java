@@ -0,0 +1,33 @@
+package org.vogel.kubernetes.dashboard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DashboardMetrics metrics;
+    private final long streamingTimeoutSeconds;
+
+    public WebConfig(DashboardMetrics metrics,
+                     @Value("${dashboard.streaming.timeout-seconds:3600}") long streamingTimeoutSeconds) {
+        this.metrics = metrics;
+        this.streamingTimeoutSeconds = streamingTimeoutSeconds;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new TemplateTimingInterceptor(metrics));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new StreamingTimeoutInterceptor(
+                TimeUnit.SECONDS.toMillis(streamingTimeoutSeconds)));
+    }
+}
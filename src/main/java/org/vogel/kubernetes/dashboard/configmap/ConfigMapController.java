@@ -1,15 +1,26 @@
 package org.vogel.kubernetes.dashboard.configmap;
 
-import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.Event;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageRequest;
+import org.vogel.kubernetes.dashboard.ResourceExecutors;
+import org.vogel.kubernetes.dashboard.Versioned;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
 
 @Slf4j
 @Controller
@@ -17,40 +28,61 @@ import javax.validation.constraints.NotNull;
 public class ConfigMapController {
 
     private KubernetesUtils kubeUtils;
+    private ResourceExecutors resourceExecutors;
 
-    public ConfigMapController(KubernetesUtils kubeUtils) {
+    public ConfigMapController(KubernetesUtils kubeUtils, ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listConfigMaps(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listConfigMaps(Model model, WebRequest request,
+                                                    @PathVariable("namespace") String namespace,
+                                                    @RequestParam(value = "limit",
+                                                    defaultValue = DEFAULT_LIMIT) int limit,
+                                                    @RequestParam(value = "continue",
+                                                    required = false) String continueToken,
+                                                    @RequestParam(value = "history",
+                                                    required = false) List<String> history) {
         log.debug("In listConfigMaps with namespace: {}", namespace);
-        try {
-            model.addAttribute("configMaps", kubeUtils.getConfigMaps(namespace));
+        return resourceExecutors.render("configmaps", "Error getting list of config maps", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<ConfigMap> page = kubeUtils.getConfigMaps(namespace, pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("configMaps", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "config_maps";
-        } catch (ApiException e) {
-            log.error("Error getting list of config maps", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{configMapName}")
-    public String describeConfigMap(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                    @PathVariable @NotNull String configMapName) {
+    public CompletableFuture<Object> describeConfigMap(Model model, WebRequest request,
+                                                       @PathVariable("namespace") @NotNull String namespace,
+                                                       @PathVariable @NotNull String configMapName) {
         log.debug("In describeConfigMap with namespace: {} and config map: {}", namespace, configMapName);
-        try {
-            ConfigMap configMap = kubeUtils.getConfigMap(namespace, configMapName);
-            model.addAttribute("configMap", configMap);
+        return resourceExecutors.render("configmaps", "Error getting config maps", () -> {
+            Versioned<ConfigMap> configMap = kubeUtils.getConfigMap(namespace, configMapName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "ConfigMap", configMapName,
+                                                                configMap.getUid());
+            String eTag = new ETagBuilder().add(configMap.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("configMap", configMap.get());
             model.addAttribute("configMapName", configMapName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "ConfigMap", configMapName, configMap.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "config_map_describe";
-        } catch (ApiException e) {
-            log.error("Error getting config maps", e);
-            return "error";
-        }
+        });
     }
 }
@@ -2,14 +2,32 @@ package org.vogel.kubernetes.dashboard.deployment;
 
 import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.Event;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageRequest;
+import org.vogel.kubernetes.dashboard.ResourceExecutors;
+import org.vogel.kubernetes.dashboard.Streaming;
+import org.vogel.kubernetes.dashboard.Versioned;
+import org.vogel.kubernetes.dashboard.log.LogMergeService;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
+import static org.vogel.kubernetes.dashboard.log.LogResponses.TEXT_PLAIN_UTF8;
+import static org.vogel.kubernetes.dashboard.log.LogResponses.toHttpStatus;
 
 @Slf4j
 @Controller
@@ -17,40 +35,81 @@ import javax.validation.constraints.NotNull;
 public class DeploymentController {
 
     private KubernetesUtils kubeUtils;
+    private LogMergeService logMergeService;
+    private ResourceExecutors resourceExecutors;
 
-    public DeploymentController(KubernetesUtils kubeUtils) {
+    public DeploymentController(KubernetesUtils kubeUtils, LogMergeService logMergeService,
+                                ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.logMergeService = logMergeService;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listDeployments(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listDeployments(Model model, WebRequest request,
+                                                     @PathVariable("namespace") String namespace,
+                                                     @RequestParam(value = "limit",
+                                                     defaultValue = DEFAULT_LIMIT) int limit,
+                                                     @RequestParam(value = "continue",
+                                                     required = false) String continueToken,
+                                                     @RequestParam(value = "history",
+                                                     required = false) List<String> history) {
         log.debug("In listDeployments with namespace: {}", namespace);
-        try {
-            model.addAttribute("deployments", kubeUtils.getDeployments(namespace));
+        return resourceExecutors.render("deployments", "Error getting list of deployments", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<Deployment> page = kubeUtils.getDeployments(namespace, pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("deployments", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "deployments";
-        } catch (ApiException e) {
-            log.error("Error getting list of deployments", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{deploymentName}")
-    public String describeDeployment(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                     @PathVariable @NotNull String deploymentName) {
+    public CompletableFuture<Object> describeDeployment(Model model, WebRequest request,
+                                                        @PathVariable("namespace") @NotNull String namespace,
+                                                        @PathVariable @NotNull String deploymentName) {
         log.debug("In describeDeployment with namespace: {} and deployment: {}", namespace, deploymentName);
-        try {
-            Deployment deployment = kubeUtils.getDeployment(namespace, deploymentName);
-            model.addAttribute("deployment", deployment);
+        return resourceExecutors.render("deployments", "Error getting deployment", () -> {
+            Versioned<Deployment> deployment = kubeUtils.getDeployment(namespace, deploymentName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "Deployment", deploymentName,
+                                                                deployment.getUid());
+            String eTag = new ETagBuilder().add(deployment.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("deployment", deployment.get());
             model.addAttribute("deploymentName", deploymentName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "Deployment", deploymentName, deployment.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "deployment_describe";
+        });
+    }
+
+    @GetMapping("/{deploymentName}/logs")
+    @Streaming
+    public ResponseEntity<StreamingResponseBody> showDeploymentLogs(
+            @PathVariable("namespace") @NotNull String namespace, @PathVariable @NotNull String deploymentName) {
+        log.debug("In showDeploymentLogs with namespace: {} and deployment: {}", namespace, deploymentName);
+        try {
+            List<String> podNames = kubeUtils.getDeploymentPodNames(namespace, deploymentName);
+            return ResponseEntity.ok()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(out -> logMergeService.merge(namespace, podNames, out));
         } catch (ApiException e) {
-            log.error("Error getting deployment", e);
-            return "error";
+            log.error("Error getting pods for deployment {}", deploymentName, e);
+            return ResponseEntity.status(toHttpStatus(e))
+                    .build();
         }
     }
 }
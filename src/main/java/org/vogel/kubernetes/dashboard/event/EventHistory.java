@@ -0,0 +1,258 @@
+package org.vogel.kubernetes.dashboard.event;
+
+import com.google.gson.Gson;
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.models.V1Event;
+import io.kubernetes.client.models.V1ObjectReference;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.ResourceStore;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@Component
+public class EventHistory implements ResourceStore.StoreListener<V1Event> {
+    private static final Pattern SEGMENT_NAME = Pattern.compile("events-(\\d+)\\.log");
+    private static final long RETENTION_CHECK_INTERVAL_MILLIS = 60000;
+
+    private final Gson gson = new JSON().getGson();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, EventSegment> segments = new TreeMap<>();
+    // the latest record of each event, keyed by the uid of the object the event is about and then the event's uid
+    private final Map<String, Map<String, Position>> positionsByObject = new HashMap<>();
+    private final Path directory;
+    private final long segmentBytes;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private EventSegment active;
+    private long lastRetentionCheck;
+
+    @Autowired
+    public EventHistory(
+            @Value("${dashboard.events.history.directory:${java.io.tmpdir}/kube-dashboard-events}") String directory,
+            @Value("${dashboard.events.history.segment-bytes:8388608}") long segmentBytes,
+            @Value("${dashboard.events.history.max-bytes:268435456}") long maxBytes,
+            @Value("${dashboard.events.history.max-age-hours:168}") long maxAgeHours) throws IOException {
+        this(Paths.get(directory), segmentBytes, maxBytes, TimeUnit.HOURS.toMillis(maxAgeHours));
+    }
+
+    EventHistory(Path directory, long segmentBytes, long maxBytes, long maxAgeMillis) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        Files.createDirectories(directory);
+        load();
+        active = createSegment();
+        applyRetention();
+    }
+
+    @Override
+    public void added(V1Event event) {
+        append(event);
+    }
+
+    @Override
+    public void updated(V1Event oldEvent, V1Event newEvent) {
+        append(newEvent);
+    }
+
+    @Override
+    public void deleted(V1Event event) {
+        // the history outlives the api server's copy, that is the point of keeping it
+    }
+
+    public List<V1Event> getEvents(String objectUid) {
+        lock.readLock()
+                .lock();
+        try {
+            Map<String, Position> positions = positionsByObject.get(objectUid);
+            if (positions == null) {
+                return Collections.emptyList();
+            }
+            List<V1Event> events = new ArrayList<>(positions.size());
+            for (Position position : positions.values()) {
+                try {
+                    EventSegment.Record record = segments.get(position.segment)
+                            .read(position.offset);
+                    events.add(gson.fromJson(new String(record.getJson(), StandardCharsets.UTF_8), V1Event.class));
+                } catch (IOException e) {
+                    log.warn("Unable to read event history for {}", objectUid, e);
+                }
+            }
+            return events;
+        } finally {
+            lock.readLock()
+                    .unlock();
+        }
+    }
+
+    int getSegmentCount() {
+        lock.readLock()
+                .lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock()
+                    .unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lock.writeLock()
+                .lock();
+        try {
+            for (EventSegment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    log.warn("Unable to close event segment {}", segment.getId(), e);
+                }
+            }
+            segments.clear();
+            positionsByObject.clear();
+        } finally {
+            lock.writeLock()
+                    .unlock();
+        }
+    }
+
+    private void append(V1Event event) {
+        V1ObjectReference object = event.getInvolvedObject();
+        if (object == null || object.getUid() == null) {
+            return;
+        }
+        byte[] json = gson.toJson(event)
+                .getBytes(StandardCharsets.UTF_8);
+        lock.writeLock()
+                .lock();
+        try {
+            if (active.getSize() >= segmentBytes) {
+                active = createSegment();
+                applyRetention();
+            } else if (System.currentTimeMillis() - lastRetentionCheck > RETENTION_CHECK_INTERVAL_MILLIS) {
+                applyRetention();
+            }
+            String eventUid = event.getMetadata()
+                    .getUid();
+            long offset = active.append(object.getUid(), eventUid, json);
+            index(object.getUid(), eventUid, new Position(active.getId(), offset));
+        } catch (IOException e) {
+            log.warn("Unable to record event {} in the history", event.getMetadata()
+                    .getName(), e);
+        } finally {
+            lock.writeLock()
+                    .unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.collect(toList());
+        }
+        for (Path file : files) {
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName()
+                                                           .toString());
+            if (matcher.matches()) {
+                long id = Long.parseLong(matcher.group(1));
+                segments.put(id, EventSegment.open(id, file));
+            }
+        }
+        // segments are scanned oldest first so that a later record of an event replaces an earlier one
+        Iterator<EventSegment> oldestFirst = segments.values()
+                .iterator();
+        while (oldestFirst.hasNext()) {
+            EventSegment segment = oldestFirst.next();
+            segment.scan((record, offset) -> index(record.getObjectUid(), record.getEventUid(),
+                                                   new Position(segment.getId(), offset)));
+            if (segment.getSize() == 0) {
+                oldestFirst.remove();
+                segment.delete();
+            }
+        }
+        log.debug("Loaded {} event history segments from {}", segments.size(), directory);
+    }
+
+    private EventSegment createSegment() throws IOException {
+        long id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        EventSegment segment = EventSegment.create(id, directory.resolve(String.format("events-%020d.log", id)));
+        segments.put(id, segment);
+        return segment;
+    }
+
+    // drops whole segments, oldest first, once they are past the maximum age or the history is over its size
+    private void applyRetention() {
+        lastRetentionCheck = System.currentTimeMillis();
+        long total = segments.values()
+                .stream()
+                .mapToLong(EventSegment::getSize)
+                .sum();
+        Iterator<EventSegment> oldestFirst = segments.values()
+                .iterator();
+        while (oldestFirst.hasNext()) {
+            EventSegment segment = oldestFirst.next();
+            boolean expired = lastRetentionCheck - segment.getLastAppend() > maxAgeMillis;
+            if (segment == active || (total <= maxBytes && !expired)) {
+                break;
+            }
+            oldestFirst.remove();
+            total -= segment.getSize();
+            unindex(segment.getId());
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                log.warn("Unable to delete event segment {}", segment.getId(), e);
+            }
+        }
+    }
+
+    private void index(String objectUid, String eventUid, Position position) {
+        positionsByObject.computeIfAbsent(objectUid, uid -> new HashMap<>())
+                .put(eventUid, position);
+    }
+
+    private void unindex(long segment) {
+        Iterator<Map<String, Position>> objects = positionsByObject.values()
+                .iterator();
+        while (objects.hasNext()) {
+            Map<String, Position> positions = objects.next();
+            positions.values()
+                    .removeIf(position -> position.segment == segment);
+            if (positions.isEmpty()) {
+                objects.remove();
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Position {
+        private final long segment;
+        private final long offset;
+    }
+}
@@ -0,0 +1,154 @@
+package org.vogel.kubernetes.dashboard.event;
+
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// records are [int length][utf object uid][utf event uid][json], appended and never rewritten
+public class EventSegment implements Closeable {
+    private static final int LENGTH_BYTES = 4;
+
+    private final long id;
+    private final Path file;
+    private final FileChannel channel;
+    private volatile long size;
+    private volatile long lastAppend;
+
+    private EventSegment(long id, Path file, FileChannel channel, long size, long lastAppend) {
+        this.id = id;
+        this.file = file;
+        this.channel = channel;
+        this.size = size;
+        this.lastAppend = lastAppend;
+    }
+
+    public static EventSegment create(long id, Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE);
+        return new EventSegment(id, file, channel, 0, System.currentTimeMillis());
+    }
+
+    public static EventSegment open(long id, Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new EventSegment(id, file, channel, channel.size(), Files.getLastModifiedTime(file)
+                .toMillis());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastAppend() {
+        return lastAppend;
+    }
+
+    public long append(String objectUid, String eventUid, byte[] json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length + 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0);
+        out.writeUTF(objectUid);
+        out.writeUTF(eventUid);
+        out.write(json);
+        ByteBuffer record = ByteBuffer.wrap(bytes.toByteArray());
+        record.putInt(0, record.capacity() - LENGTH_BYTES);
+
+        long offset = size;
+        while (record.hasRemaining()) {
+            channel.write(record, offset + record.position());
+        }
+        size = offset + record.capacity();
+        lastAppend = System.currentTimeMillis();
+        return offset;
+    }
+
+    public Record read(long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+        readFully(length, offset);
+        ByteBuffer body = ByteBuffer.allocate(length.getInt(0));
+        readFully(body, offset + LENGTH_BYTES);
+        return Record.parse(body.array());
+    }
+
+    // walks every record from the start, cutting off a record left half written by a crash
+    public void scan(RecordVisitor visitor) throws IOException {
+        long offset = 0;
+        ByteBuffer length = ByteBuffer.allocate(LENGTH_BYTES);
+        while (offset + LENGTH_BYTES <= size) {
+            length.clear();
+            readFully(length, offset);
+            int recordLength = length.getInt(0);
+            if (recordLength <= 0 || offset + LENGTH_BYTES + recordLength > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(recordLength);
+            readFully(body, offset + LENGTH_BYTES);
+            visitor.visit(Record.parse(body.array()), offset);
+            offset += LENGTH_BYTES + recordLength;
+        }
+        if (offset < size) {
+            channel.truncate(offset);
+            size = offset;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public void delete() throws IOException {
+        try {
+            close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of event segment " + file);
+            }
+        }
+    }
+
+    public interface RecordVisitor {
+        void visit(Record record, long offset) throws IOException;
+    }
+
+    @Getter
+    public static class Record {
+        private final String objectUid;
+        private final String eventUid;
+        private final byte[] json;
+
+        private Record(String objectUid, String eventUid, byte[] json) {
+            this.objectUid = objectUid;
+            this.eventUid = eventUid;
+            this.json = json;
+        }
+
+        private static Record parse(byte[] body) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            String objectUid = in.readUTF();
+            String eventUid = in.readUTF();
+            byte[] json = new byte[in.available()];
+            in.readFully(json);
+            return new Record(objectUid, eventUid, json);
+        }
+    }
+}
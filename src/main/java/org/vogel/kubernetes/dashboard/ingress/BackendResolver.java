@@ -0,0 +1,53 @@
+package org.vogel.kubernetes.dashboard.ingress;
+
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1Endpoints;
+import io.kubernetes.client.models.V1Service;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+import static org.vogel.kubernetes.dashboard.FormatUtils.describeBackend;
+
+public class BackendResolver {
+
+    private final Map<String, V1Service> services;
+    private final Map<String, V1Endpoints> endpoints;
+    private final Map<String, String> descriptions = new HashMap<>();
+
+    public BackendResolver(List<V1Service> services, List<V1Endpoints> endpoints) {
+        this.services = byName(services, service -> service.getMetadata()
+                .getName());
+        this.endpoints = byName(endpoints, endpoint -> endpoint.getMetadata()
+                .getName());
+    }
+
+    // one list of the namespace's services and endpoints answers every backend of an ingress, both are read on the
+    // calling thread so they run within the ingress executor and a stale answer shows on the ingress page
+    public static BackendResolver load(String namespace, KubernetesUtils kubernetesUtils) throws ApiException {
+        return new BackendResolver(kubernetesUtils.getKubeServices(namespace),
+                                   kubernetesUtils.getKubeEndpoints(namespace));
+    }
+
+    public String describe(String serviceName, String servicePort) {
+        String key = String.format("%s:%s", serviceName, servicePort);
+        return descriptions.computeIfAbsent(key, k -> describeBackend(services.get(serviceName),
+                                                                      endpoints.get(serviceName), servicePort));
+    }
+
+    public String getVersion() {
+        return new ETagBuilder().add(services.values(), V1Service::getMetadata)
+                .add(endpoints.values(), V1Endpoints::getMetadata)
+                .build();
+    }
+
+    private static <T> Map<String, T> byName(List<T> items, Function<T, String> nameFunction) {
+        return items.stream()
+                .collect(toMap(nameFunction, Function.identity(), (first, second) -> first));
+    }
+}
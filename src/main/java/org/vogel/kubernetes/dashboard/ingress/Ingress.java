@@ -1,11 +1,9 @@
 package org.vogel.kubernetes.dashboard.ingress;
 
-import io.kubernetes.client.ApiException;
 import io.kubernetes.client.custom.IntOrString;
 import io.kubernetes.client.models.*;
 import lombok.Getter;
 import org.apache.commons.collections4.CollectionUtils;
-import org.vogel.kubernetes.dashboard.KubernetesUtils;
 import org.vogel.kubernetes.dashboard.Metadata;
 
 import java.util.ArrayList;
@@ -14,7 +12,6 @@ import java.util.List;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.*;
-import static org.vogel.kubernetes.dashboard.FormatUtils.describeBackend;
 import static org.vogel.kubernetes.dashboard.FormatUtils.joinListWithCommas;
 
 @Getter
@@ -41,17 +38,15 @@ public class Ingress extends Metadata {
         }
     }
 
-    public Ingress(V1beta1Ingress ingress, KubernetesUtils kubernetesUtils) throws ApiException {
+    public Ingress(V1beta1Ingress ingress, BackendResolver backendResolver) {
         this(ingress);
         V1beta1IngressSpec ingressSpec = ingress.getSpec();
         V1beta1IngressBackend backend = ingressSpec.getBackend();
         String serviceName;
         String servicePort;
-        String ns;
         if (backend == null) {
             serviceName = "default-http-backend";
             servicePort = "80";
-            ns = "kube-system";
         } else {
             serviceName = backend.getServiceName();
             IntOrString backendServicePort = backend.getServicePort();
@@ -61,9 +56,8 @@ public class Ingress extends Metadata {
             } else {
                 servicePort = backendServicePort.getStrValue();
             }
-            ns = getNamespace();
         }
-        String describeBackend = describeBackend(ns, serviceName, servicePort, kubernetesUtils);
+        String describeBackend = backendResolver.describe(serviceName, servicePort);
         defaultBackend = String.format("%s:%s (%s)", serviceName, servicePort, describeBackend);
         List<V1beta1IngressRule> ingressRules = ingressSpec.getRules();
         rules = new ArrayList<>();
@@ -71,10 +65,20 @@ public class Ingress extends Metadata {
             if (rule.getHttp() == null) {
                 continue;
             }
-            rules.add(new IngressRule(rule, ns, kubernetesUtils));
+            rules.add(new IngressRule(rule, backendResolver));
         }
     }
 
+    // the services and endpoints an ingress describes its backends from
+    public static String backendNamespace(V1beta1Ingress ingress) {
+        if (ingress.getSpec()
+                .getBackend() == null) {
+            return "kube-system";
+        }
+        return ingress.getMetadata()
+                .getNamespace();
+    }
+
     private String formatHosts(List<V1beta1IngressRule> rules) {
         List<String> list = rules.stream()
                 .filter(rule -> isNotEmpty(rule.getHost()))
@@ -1,15 +1,26 @@
 package org.vogel.kubernetes.dashboard.ingress;
 
-import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.Event;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageRequest;
+import org.vogel.kubernetes.dashboard.ResourceExecutors;
+import org.vogel.kubernetes.dashboard.Versioned;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
 
 @Slf4j
 @Controller
@@ -17,39 +28,60 @@ import javax.validation.constraints.NotNull;
 public class IngressController {
 
     private KubernetesUtils kubeUtils;
+    private ResourceExecutors resourceExecutors;
 
-    public IngressController(KubernetesUtils kubeUtils) {
+    public IngressController(KubernetesUtils kubeUtils, ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listIngresses(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listIngresses(Model model, WebRequest request,
+                                                   @PathVariable("namespace") String namespace,
+                                                   @RequestParam(value = "limit",
+                                                   defaultValue = DEFAULT_LIMIT) int limit,
+                                                   @RequestParam(value = "continue",
+                                                   required = false) String continueToken,
+                                                   @RequestParam(value = "history",
+                                                   required = false) List<String> history) {
         log.debug("In listIngresses with namespace: {}", namespace);
-        try {
-            model.addAttribute("ingresses", kubeUtils.getIngresses(namespace));
+        return resourceExecutors.render("ingresses", "Error getting list of ingresses", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<Ingress> page = kubeUtils.getIngresses(namespace, pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("ingresses", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "ingresses";
-        } catch (ApiException e) {
-            log.error("Error getting list of ingresses", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{ingressName}")
-    public String describeIngress(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                  @PathVariable @NotNull String ingressName) {
+    public CompletableFuture<Object> describeIngress(Model model, WebRequest request,
+                                                     @PathVariable("namespace") @NotNull String namespace,
+                                                     @PathVariable @NotNull String ingressName) {
         log.debug("In describeIngress with namespace: {} and ingress: {}", namespace, ingressName);
-        try {
-            Ingress ingress = kubeUtils.getIngress(namespace, ingressName);
-            model.addAttribute("ingress", ingress);
+        return resourceExecutors.render("ingresses", "Error getting ingress", () -> {
+            Versioned<Ingress> ingress = kubeUtils.getIngress(namespace, ingressName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "Ingress", ingressName, ingress.getUid());
+            String eTag = new ETagBuilder().add(ingress.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("ingress", ingress.get());
             model.addAttribute("ingressName", ingressName);
-            model.addAttribute("events", kubeUtils.getEvents(namespace, "Ingress", ingressName, ingress.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "ingress_describe";
-        } catch (ApiException e) {
-            log.error("Error getting ingress", e);
-            return "error";
-        }
+        });
     }
 }
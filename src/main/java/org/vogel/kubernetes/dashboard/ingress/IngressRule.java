@@ -1,17 +1,14 @@
 package org.vogel.kubernetes.dashboard.ingress;
 
-import io.kubernetes.client.ApiException;
 import io.kubernetes.client.custom.IntOrString;
 import io.kubernetes.client.models.V1beta1HTTPIngressPath;
 import io.kubernetes.client.models.V1beta1IngressRule;
 import lombok.Getter;
-import org.vogel.kubernetes.dashboard.KubernetesUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
-import static org.vogel.kubernetes.dashboard.FormatUtils.describeBackend;
 
 @Getter
 public class IngressRule {
@@ -19,8 +16,7 @@ public class IngressRule {
     private List<String> paths;
     private List<String> backends;
 
-    public IngressRule(V1beta1IngressRule rule, String ns,
-                       KubernetesUtils kubernetesUtils) throws ApiException {
+    public IngressRule(V1beta1IngressRule rule, BackendResolver backendResolver) {
         host = defaultIfBlank(rule.getHost(), "*");
         paths = new ArrayList<>();
         backends = new ArrayList<>();
@@ -40,7 +36,7 @@ public class IngressRule {
                 servicePort = backendServicePort.getStrValue();
             }
 
-            String describeBackend = describeBackend(ns, serviceName, servicePort, kubernetesUtils);
+            String describeBackend = backendResolver.describe(serviceName, servicePort);
             backends.add(String.format("%s:%s (%s)", serviceName, servicePort, describeBackend));
         }
     }
@@ -0,0 +1,53 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+public class LogCopier {
+    public static final int BUFFER_SIZE = 8192;
+    private static final int COMPRESS_BUFFER_SIZE = 65536;
+    private static final byte TAB = '\t';
+    private static final byte[] TAB_SPACES = "        ".getBytes(StandardCharsets.US_ASCII);
+
+    private LogCopier() {
+    }
+
+    // copies one buffer at a time, a tab byte can't be part of a multi-byte UTF-8 sequence so no decoding is needed
+    public static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            int start = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == TAB) {
+                    out.write(buffer, start, i - start);
+                    out.write(TAB_SPACES);
+                    start = i + 1;
+                }
+            }
+            out.write(buffer, start, read - start);
+            out.flush();
+            total += read;
+        }
+        return total;
+    }
+
+    // copies the log as is, only the deflater's window and one buffer are held however long the log is
+    public static long compress(InputStream in, OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, COMPRESS_BUFFER_SIZE);
+        byte[] buffer = new byte[COMPRESS_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            gzip.write(buffer, 0, read);
+            total += read;
+        }
+        gzip.finish();
+        out.flush();
+        return total;
+    }
+}
@@ -0,0 +1,279 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.apis.CoreV1Api;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.vogel.kubernetes.dashboard.ResourceWatcher;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// a followed pod holds one thread reading its log, the browsers following it are all served by one drainer thread,
+// so at most maxFollowers browsers and as many upstream streams are open at once
+@Slf4j
+@Component
+public class LogFollowService {
+    private static final String TAB_SPACES = "        ";
+    private static final long DRAIN_INTERVAL_MILLIS = 250;
+
+    private final Map<String, Follower> followers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "log-follow-drain");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LogOpener opener;
+    private final int bufferLines;
+    private final long timeoutMillis;
+    private final int maxFollowers;
+
+    @Autowired
+    public LogFollowService(@Value("${dashboard.logs.follow-buffer-lines:1000}") int bufferLines,
+                            @Value("${dashboard.logs.follow-timeout-ms:1800000}") long timeoutMillis,
+                            @Value("${dashboard.logs.max-followers:64}") int maxFollowers) throws IOException {
+        this(followOpener(ResourceWatcher.createWatchClient()), bufferLines, timeoutMillis, maxFollowers);
+    }
+
+    LogFollowService(LogOpener opener, int bufferLines, long timeoutMillis, int maxFollowers) {
+        this.opener = opener;
+        this.bufferLines = bufferLines;
+        this.timeoutMillis = timeoutMillis;
+        this.maxFollowers = Math.max(1, maxFollowers);
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(0, this.maxFollowers, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                                          runnable -> {
+                                              Thread thread = new Thread(runnable,
+                                                                         "log-follow-" + threads.incrementAndGet());
+                                              thread.setDaemon(true);
+                                              return thread;
+                                          });
+        drainer.scheduleWithFixedDelay(this::drain, DRAIN_INTERVAL_MILLIS, DRAIN_INTERVAL_MILLIS,
+                                       TimeUnit.MILLISECONDS);
+    }
+
+    // throws RejectedExecutionException when maxFollowers browsers are already following
+    public SseEmitter follow(String namespace, String podName) {
+        if (subscriberCount.incrementAndGet() > maxFollowers) {
+            subscriberCount.decrementAndGet();
+            throw new RejectedExecutionException("Too many log followers");
+        }
+
+        String key = namespace + "/" + podName;
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, bufferLines);
+        // every browser following the same pod shares one upstream stream
+        try {
+            followers.compute(key, (k, existing) -> {
+                Follower follower = existing;
+                if (follower == null) {
+                    follower = new Follower(key, namespace, podName);
+                    executor.execute(follower);
+                }
+                follower.subscribers.add(subscriber);
+                return follower;
+            });
+        } catch (RejectedExecutionException e) {
+            subscriberCount.decrementAndGet();
+            throw e;
+        }
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(key, subscriber));
+        emitter.onTimeout(() -> unsubscribe(key, subscriber));
+        emitter.onError(e -> unsubscribe(key, subscriber));
+        return emitter;
+    }
+
+    int getFollowerCount() {
+        return followers.size();
+    }
+
+    int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        followers.values()
+                .forEach(Follower::stop);
+        drainer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void unsubscribe(String key, Subscriber subscriber) {
+        subscriber.finish();
+        followers.computeIfPresent(key, (k, follower) -> {
+            follower.subscribers.remove(subscriber);
+            if (follower.subscribers.isEmpty()) {
+                follower.stop();
+                return null;
+            }
+            return follower;
+        });
+    }
+
+    private void drain() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.drain()) {
+                if (subscribers.remove(subscriber)) {
+                    subscriberCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static LogOpener followOpener(ApiClient apiClient) {
+        CoreV1Api api = new CoreV1Api(apiClient);
+        // tailLines=0 so that following only sends what is written after the page loaded
+        return (namespace, podName) -> LogStreams.open(
+                api.readNamespacedPodLogCall(podName, namespace, null, true, null, "false", null, null, 0, null, null,
+                                             null));
+    }
+
+    interface LogOpener {
+        InputStream open(String namespace, String podName) throws ApiException;
+    }
+
+    private class Follower implements Runnable {
+        private final String key;
+        private final String namespace;
+        private final String podName;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private volatile InputStream stream;
+        private volatile boolean stopped;
+
+        Follower(String key, String namespace, String podName) {
+            this.key = key;
+            this.namespace = namespace;
+            this.podName = podName;
+        }
+
+        @Override
+        public void run() {
+            try {
+                stream = opener.open(namespace, podName);
+                if (stopped) {
+                    return;
+                }
+                BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+                String line;
+                while (!stopped && (line = reader.readLine()) != null) {
+                    publish(line.replace("\t", TAB_SPACES));
+                }
+            } catch (ApiException | IOException e) {
+                if (!stopped) {
+                    log.warn("Following logs for {} failed", key, e);
+                }
+            } finally {
+                closeStream();
+                followers.remove(key, this);
+                subscribers.forEach(Subscriber::finish);
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            closeStream();
+        }
+
+        private void closeStream() {
+            InputStream current = stream;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException e) {
+                    log.debug("Error closing the log stream of {}", key, e);
+                }
+            }
+        }
+
+        private void publish(String line) {
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(line)) {
+                    log.info("Dropping a slow log follower of {}", key);
+                    subscribers.remove(subscriber);
+                    subscriber.drop();
+                }
+            }
+        }
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<String> lines;
+        private volatile boolean finished;
+        private volatile boolean dropped;
+
+        Subscriber(SseEmitter emitter, int bufferLines) {
+            this.emitter = emitter;
+            lines = new ArrayBlockingQueue<>(bufferLines);
+        }
+
+        boolean offer(String line) {
+            return lines.offer(line);
+        }
+
+        void finish() {
+            finished = true;
+        }
+
+        void drop() {
+            dropped = true;
+            finished = true;
+        }
+
+        // sends whatever has arrived since the last drain, true once the emitter is done with
+        boolean drain() {
+            try {
+                if (dropped) {
+                    lines.clear();
+                    emitter.send(SseEmitter.event()
+                                         .name("dropped")
+                                         .data("the log is arriving faster than this browser reads it"));
+                    emitter.complete();
+                    return true;
+                }
+                // read before the queue, so a finished follower's last lines are still sent
+                boolean done = finished;
+                String line;
+                while ((line = lines.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                                         .data(line));
+                }
+                if (done) {
+                    emitter.complete();
+                }
+                return done;
+            } catch (IOException | IllegalStateException e) {
+                // the browser went away, onError/onCompletion unsubscribes it
+                emitter.completeWithError(e);
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class LogLines {
+    private long from;
+    private long total;
+    private List<String> lines;
+}
@@ -0,0 +1,223 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.vogel.kubernetes.dashboard.ApiRateLimiter.Priority.BULK;
+
+@Slf4j
+@Component
+public class LogMergeService {
+    private static final int FLUSH_INTERVAL = 256;
+    private static final String TAB_SPACES = "        ";
+    private static final Comparator<Source> TIMESTAMP_ORDER = Comparator.comparing((Source source) -> source.timestamp)
+            .thenComparing(source -> source.podName);
+
+    private final LogOpener opener;
+    private final ExecutorService openExecutor;
+    private final int maxPods;
+
+    @Autowired
+    public LogMergeService(KubernetesUtils kubeUtils, @Value("${dashboard.logs.merge-max-pods:20}") int maxPods,
+                           @Value("${dashboard.logs.merge-open-concurrency:4}") int openConcurrency) {
+        this((namespace, podName) -> kubeUtils.streamPodLogs(namespace, podName, LogOptions.ALL, true, BULK), maxPods,
+             openConcurrency);
+    }
+
+    LogMergeService(LogOpener opener, int maxPods, int openConcurrency) {
+        this.opener = opener;
+        this.maxPods = Math.max(1, maxPods);
+        // shared by every merge so that no number of open merged views opens more than this many streams at once
+        openExecutor = Executors.newFixedThreadPool(Math.max(1, openConcurrency), runnable -> {
+            Thread thread = new Thread(runnable, "log-merge-open");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // merging reads every pod's stream at once, so at most maxPods pods are merged and the output says who is missing
+    public void merge(String namespace, List<String> podNames, OutputStream output) throws IOException {
+        Writer out = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        List<String> merged = podNames.size() > maxPods ? podNames.subList(0, maxPods) : podNames;
+        String truncated = null;
+        if (merged.size() < podNames.size()) {
+            String leftOut = String.join(", ", podNames.subList(merged.size(), podNames.size()));
+            truncated = String.format("-- truncated: only the logs of the first %d of %d pods are merged, left out: "
+                                              + "%s\n", merged.size(), podNames.size(), leftOut);
+            out.write(truncated);
+        }
+
+        int width = merged.stream()
+                .mapToInt(String::length)
+                .max()
+                .orElse(0);
+        List<Source> sources = open(namespace, merged, width, out);
+        try {
+            // one head line per pod, so the queue never holds more than the number of merged pods
+            PriorityQueue<Source> queue = new PriorityQueue<>(Math.max(1, sources.size()), TIMESTAMP_ORDER);
+            for (Source source : sources) {
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            }
+            long written = 0;
+            while (!queue.isEmpty()) {
+                Source source = queue.poll();
+                source.write(out);
+                if (++written % FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+                if (source.advance()) {
+                    queue.add(source);
+                }
+            }
+            if (truncated != null) {
+                out.write(truncated);
+            }
+            out.flush();
+        } finally {
+            sources.forEach(Source::close);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        openExecutor.shutdownNow();
+    }
+
+    private List<Source> open(String namespace, List<String> podNames, int width, Writer out) throws IOException {
+        OpenedStreams opened = new OpenedStreams();
+        List<Future<InputStream>> streams = new ArrayList<>();
+        for (String podName : podNames) {
+            streams.add(openExecutor.submit(() -> opened.add(opener.open(namespace, podName))));
+        }
+
+        List<Source> sources = new ArrayList<>();
+        boolean complete = false;
+        try {
+            for (int i = 0; i < podNames.size(); i++) {
+                String podName = podNames.get(i);
+                try {
+                    sources.add(new Source(StringUtils.rightPad(podName, width), streams.get(i)
+                            .get()));
+                } catch (ExecutionException e) {
+                    log.warn("Unable to read the logs of pod {}", podName, e.getCause());
+                    out.write(String.format("-- unable to read the logs of pod %s: %s\n", podName, e.getCause()
+                            .getMessage()));
+                }
+            }
+            complete = true;
+            return sources;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new IOException(e);
+        } finally {
+            // an interrupt or a browser that went away while writing, either way nobody reads these streams
+            if (!complete) {
+                streams.forEach(stream -> stream.cancel(true));
+                // closes the streams of the sources as well as those opened by the cancelled tasks
+                opened.closeAll();
+            }
+        }
+    }
+
+    private static void close(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            log.debug("Error closing a merged log stream", e);
+        }
+    }
+
+    interface LogOpener {
+        InputStream open(String namespace, String podName) throws ApiException;
+    }
+
+    // the streams opened for one merge, a stream opened after the merge gave up is closed right away
+    private static class OpenedStreams {
+        private final List<InputStream> streams = new ArrayList<>();
+        private boolean closed;
+
+        synchronized InputStream add(InputStream stream) {
+            if (closed) {
+                close(stream);
+            } else {
+                streams.add(stream);
+            }
+            return stream;
+        }
+
+        synchronized void closeAll() {
+            closed = true;
+            streams.forEach(LogMergeService::close);
+        }
+    }
+
+    private static class Source {
+        private final String podName;
+        private final InputStream stream;
+        private final BufferedReader reader;
+        private Instant timestamp = Instant.EPOCH;
+        private String line;
+
+        Source(String podName, InputStream stream) {
+            this.podName = podName;
+            this.stream = stream;
+            reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+
+        // lines look like "2018-06-05T15:04:05.123456789Z message", a line without a timestamp keeps the last one
+        boolean advance() throws IOException {
+            line = reader.readLine();
+            if (line == null) {
+                return false;
+            }
+            int space = line.indexOf(' ');
+            if (space > 0) {
+                try {
+                    timestamp = Instant.parse(line.substring(0, space));
+                } catch (DateTimeParseException e) {
+                    // keep the previous timestamp
+                }
+            }
+            return true;
+        }
+
+        void write(Writer out) throws IOException {
+            out.write(podName);
+            out.write(" | ");
+            out.write(line.replace("\t", TAB_SPACES));
+            out.write('\n');
+        }
+
+        void close() {
+            LogMergeService.close(stream);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+// zero means no limit, so every option can be written into a link as a plain number
+@Getter
+@EqualsAndHashCode
+public class LogOptions {
+    public static final String DEFAULT_TAIL_LINES = "${dashboard.logs.tail-lines:1000}";
+    public static final String DEFAULT_LIMIT_BYTES = "${dashboard.logs.limit-bytes:1048576}";
+    public static final LogOptions ALL = new LogOptions(0, 0, 0);
+    private static final int EARLIER_FACTOR = 4;
+
+    private final int tailLines;
+    private final int sinceSeconds;
+    private final int limitBytes;
+
+    public LogOptions(Integer tailLines, Integer sinceSeconds, Integer limitBytes) {
+        this.tailLines = limit(tailLines);
+        this.sinceSeconds = limit(sinceSeconds);
+        this.limitBytes = limit(limitBytes);
+    }
+
+    public boolean isBounded() {
+        return tailLines > 0 || sinceSeconds > 0 || limitBytes > 0;
+    }
+
+    // reaches further back in every bounded dimension, the way "load earlier" widens the view
+    public LogOptions earlier() {
+        return new LogOptions(widen(tailLines), widen(sinceSeconds), widen(limitBytes));
+    }
+
+    private static int limit(Integer value) {
+        return value == null || value < 0 ? 0 : value;
+    }
+
+    private static int widen(int value) {
+        return (int) Math.min((long) value * EARLIER_FACTOR, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,21 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import io.kubernetes.client.ApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+public class LogResponses {
+    public static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    public static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
+    private LogResponses() {
+    }
+
+    // passes the api server's status through when it is a real http status, a 404 for a missing pod stays a 404
+    public static HttpStatus toHttpStatus(ApiException e) {
+        HttpStatus status = HttpStatus.resolve(e.getCode());
+        return status == null ? HttpStatus.BAD_GATEWAY : status;
+    }
+}
@@ -0,0 +1,182 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class LogSearch {
+    public static final int MAX_CONTEXT = 10;
+    public static final int MAX_MATCHES = 1000;
+    public static final long TIME_LIMIT_SECONDS = 30;
+    // a backtracking pattern can spend forever on one line, so matching checks the clock every so many characters
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+    // a log line is whatever the container wrote before a newline, so only this much of it is held and searched
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+    private static final String TAB_SPACES = "        ";
+
+    private final Pattern pattern;
+    private final int context;
+    private final int maxMatches;
+    private final long timeLimitNanos;
+
+    public LogSearch(Pattern pattern, int context, int maxMatches) {
+        this(pattern, context, maxMatches, TimeUnit.SECONDS.toNanos(TIME_LIMIT_SECONDS));
+    }
+
+    LogSearch(Pattern pattern, int context, int maxMatches, long timeLimitNanos) {
+        this.pattern = pattern;
+        this.context = Math.max(0, Math.min(context, MAX_CONTEXT));
+        this.maxMatches = Math.max(1, Math.min(maxMatches, MAX_MATCHES));
+        this.timeLimitNanos = timeLimitNanos;
+    }
+
+    // writes matches grep style, "12:" for a match and "11-" for context, flushing after each match
+    public int search(InputStream in, Writer out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Deque<String> before = new ArrayDeque<>(context + 1);
+        Matcher matcher = pattern.matcher("");
+        long deadline = System.nanoTime() + timeLimitNanos;
+        DeadlineLine deadlineLine = new DeadlineLine(deadline);
+        StringBuilder buffer = new StringBuilder();
+        long lineNumber = 0;
+        long lastWritten = 0;
+        int matches = 0;
+        int afterRemaining = 0;
+        String line;
+        while ((line = readLine(reader, buffer)) != null) {
+            lineNumber++;
+            boolean found;
+            try {
+                found = matches < maxMatches && matcher.reset(deadlineLine.of(line))
+                        .find();
+            } catch (TimeLimitExceeded e) {
+                return stopped(out, lineNumber, matches);
+            }
+            if (found) {
+                if (lastWritten > 0 && lineNumber - before.size() > lastWritten + 1) {
+                    out.write("--\n");
+                }
+                long contextLine = lineNumber - before.size();
+                for (String previous : before) {
+                    writeLine(out, contextLine++, '-', previous);
+                }
+                before.clear();
+                writeLine(out, lineNumber, ':', line);
+                lastWritten = lineNumber;
+                matches++;
+                afterRemaining = context;
+                out.flush();
+            } else if (afterRemaining > 0) {
+                writeLine(out, lineNumber, '-', line);
+                lastWritten = lineNumber;
+                afterRemaining--;
+            } else if (matches >= maxMatches) {
+                out.write(String.format("-- stopped after %d matches\n", matches));
+                out.flush();
+                return matches;
+            } else if (context > 0) {
+                if (before.size() == context) {
+                    before.removeFirst();
+                }
+                before.addLast(line);
+            }
+
+            if (System.nanoTime() > deadline) {
+                return stopped(out, lineNumber, matches);
+            }
+        }
+        out.write(String.format("-- %d matches in %d lines\n", matches, lineNumber));
+        out.flush();
+        return matches;
+    }
+
+    // like BufferedReader.readLine, except that characters past MAX_LINE_LENGTH are skipped rather than kept
+    private static String readLine(Reader reader, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (buffer.length() < MAX_LINE_LENGTH) {
+                buffer.append((char) c);
+            }
+            c = reader.read();
+        }
+        int length = buffer.length();
+        if (length > 0 && buffer.charAt(length - 1) == '\r') {
+            buffer.setLength(length - 1);
+        }
+        return buffer.toString();
+    }
+
+    private int stopped(Writer out, long lineNumber, int matches) throws IOException {
+        out.write(String.format("-- stopped after %d seconds at line %d with %d matches\n",
+                                TimeUnit.NANOSECONDS.toSeconds(timeLimitNanos), lineNumber, matches));
+        out.flush();
+        return matches;
+    }
+
+    private static void writeLine(Writer out, long lineNumber, char separator, String line) throws IOException {
+        out.write(Long.toString(lineNumber));
+        out.write(separator);
+        out.write(line.replace("\t", TAB_SPACES));
+        out.write('\n');
+    }
+
+    // the line being matched, every CLOCK_CHECK_INTERVAL characters the matcher reads it checks the deadline
+    private static class DeadlineLine implements CharSequence {
+        private final long deadline;
+        private String line = "";
+        private int reads;
+
+        DeadlineLine(long deadline) {
+            this.deadline = deadline;
+        }
+
+        DeadlineLine of(String line) {
+            this.line = line;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return line.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads % CLOCK_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                throw new TimeLimitExceeded();
+            }
+            return line.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return line.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return line;
+        }
+    }
+
+    private static class TimeLimitExceeded extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TimeLimitExceeded() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class LogSpool implements Closeable {
+    // one offset is kept for every INDEX_STRIDE lines, any line is at most that many lines from a known offset
+    public static final int INDEX_STRIDE = 1024;
+    private static final int COPY_BUFFER_SIZE = 65536;
+    private static final String TAB_SPACES = "        ";
+
+    private final Path file;
+    private final FileChannel channel;
+    private final long[] offsets;
+    private final long lineCount;
+    private final long size;
+    private volatile long lastAccess;
+    private int readers;
+    private boolean closed;
+
+    private LogSpool(Path file, long[] offsets, long lineCount, long size) throws IOException {
+        this.file = file;
+        this.offsets = offsets;
+        this.lineCount = lineCount;
+        this.size = size;
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        lastAccess = System.currentTimeMillis();
+    }
+
+    public static LogSpool create(InputStream in, Path directory) throws IOException {
+        Path file = Files.createTempFile(directory, "pod-", ".log");
+        long[] offsets = new long[16];
+        int checkpoints = 0;
+        long lineCount = 0;
+        long size = 0;
+        boolean lineStart = true;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (lineStart) {
+                        if (lineCount % INDEX_STRIDE == 0) {
+                            if (checkpoints == offsets.length) {
+                                offsets = Arrays.copyOf(offsets, checkpoints * 2);
+                            }
+                            offsets[checkpoints++] = size + i;
+                        }
+                        lineCount++;
+                        lineStart = false;
+                    }
+                    if (buffer[i] == '\n') {
+                        lineStart = true;
+                    }
+                }
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new LogSpool(file, Arrays.copyOf(offsets, checkpoints), lineCount, size);
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    public List<String> getLines(long from, int count) throws IOException {
+        lastAccess = System.currentTimeMillis();
+        long first = Math.max(0, from);
+        long last = Math.min(lineCount, first + count);
+        List<String> lines = new ArrayList<>((int) Math.max(0, last - first));
+        if (first >= last) {
+            return lines;
+        }
+
+        // only the checkpoints around the requested lines are mapped
+        int checkpoint = (int) (first / INDEX_STRIDE);
+        int endCheckpoint = (int) ((last - 1) / INDEX_STRIDE) + 1;
+        long start = offsets[checkpoint];
+        long end = endCheckpoint < offsets.length ? offsets[endCheckpoint] : size;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start,
+                                              Math.min(end - start, Integer.MAX_VALUE));
+        long line = (long) checkpoint * INDEX_STRIDE;
+        int lineStart = 0;
+        while (line < last && lineStart < buffer.limit()) {
+            int lineEnd = lineStart;
+            while (lineEnd < buffer.limit() && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (line >= first) {
+                lines.add(decode(buffer, lineStart, lineEnd));
+            }
+            line++;
+            lineStart = lineEnd + 1;
+        }
+        return lines;
+    }
+
+    // a reader keeps the spool open until it is released, even when the spool is closed in the meantime
+    public synchronized boolean retain() {
+        if (closed) {
+            return false;
+        }
+        readers++;
+        return true;
+    }
+
+    public synchronized void release() throws IOException {
+        readers--;
+        if (closed && readers == 0) {
+            remove();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (readers == 0) {
+            remove();
+        }
+    }
+
+    private void remove() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String decode(MappedByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (length > 0 && buffer.get(end - 1) == '\r') {
+            length--;
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer line = buffer.duplicate();
+        line.position(start);
+        line.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8).replace("\t", TAB_SPACES);
+    }
+}
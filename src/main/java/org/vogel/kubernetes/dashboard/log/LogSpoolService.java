@@ -0,0 +1,183 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+public class LogSpoolService {
+    public static final int MAX_LINES = 1000;
+
+    private final Map<String, Holder> spools = new ConcurrentHashMap<>();
+    private final KubernetesUtils kubeUtils;
+    private final Path directory;
+    private final long idleMillis;
+    private final int maxSpools;
+
+    public LogSpoolService(KubernetesUtils kubeUtils,
+                           @Value("${dashboard.logs.spool-idle-seconds:300}") long idleSeconds,
+                           @Value("${dashboard.logs.max-spools:32}") int maxSpools) throws IOException {
+        this.kubeUtils = kubeUtils;
+        this.idleMillis = idleSeconds * 1000;
+        this.maxSpools = Math.max(1, maxSpools);
+        directory = Files.createTempDirectory("kube-dashboard-logs");
+    }
+
+    // a negative from reads the last count lines, which is how the viewer jumps to the end
+    public LogLines getLines(String namespace, String podName, LogOptions options, long from, int count,
+                             boolean refresh) throws ApiException, IOException {
+        String key = namespace + "/" + podName;
+        evict(key);
+        Holder holder = acquire(key);
+        try {
+            LogSpool spool = holder.get(namespace, podName, options, refresh);
+            try {
+                int limit = Math.max(1, Math.min(count, MAX_LINES));
+                long first = from < 0 ? Math.max(0, spool.getLineCount() - limit) : from;
+                List<String> lines = spool.getLines(first, limit);
+                return new LogLines(first, spool.getLineCount(), lines);
+            } finally {
+                spool.release();
+            }
+        } finally {
+            release(key, holder);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        spools.values()
+                .forEach(Holder::close);
+        spools.clear();
+        try {
+            FileUtils.deleteDirectory(directory.toFile());
+        } catch (IOException e) {
+            log.warn("Unable to remove log spool directory {}", directory, e);
+        }
+    }
+
+    // a holder's users only change inside compute for its key, so a holder nobody uses is removed from the map
+    // before anyone else can start using it and is then closed outside of both the map and its download lock
+    private Holder acquire(String key) {
+        return spools.compute(key, (k, existing) -> {
+            Holder holder = existing == null ? new Holder() : existing;
+            holder.users++;
+            return holder;
+        });
+    }
+
+    private void release(String key, Holder holder) {
+        spools.computeIfPresent(key, (k, existing) -> {
+            if (existing == holder) {
+                existing.users--;
+            }
+            return existing;
+        });
+    }
+
+    private void evictIfUnused(String key, Holder holder, long now, boolean idleOnly) {
+        boolean[] evicted = new boolean[1];
+        spools.computeIfPresent(key, (k, existing) -> {
+            if (existing == holder && existing.users == 0 && (!idleOnly || existing.isIdle(now))) {
+                evicted[0] = true;
+                return null;
+            }
+            return existing;
+        });
+        if (evicted[0]) {
+            holder.close();
+        }
+    }
+
+    private void evict(String key) throws ApiException {
+        long now = System.currentTimeMillis();
+        spools.forEach((k, holder) -> {
+            if (holder.isIdle(now)) {
+                evictIfUnused(k, holder, now, true);
+            }
+        });
+        while (!spools.containsKey(key) && spools.size() >= maxSpools) {
+            Map.Entry<String, Holder> oldest = spools.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue().users == 0)
+                    .min(Comparator.comparingLong(entry -> entry.getValue()
+                            .lastAccess()))
+                    .orElseThrow(() -> new ApiException(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                                        "Too many logs are being read"));
+            evictIfUnused(oldest.getKey(), oldest.getValue(), now, false);
+        }
+    }
+
+    private class Holder {
+        private volatile LogSpool spool;
+        private volatile boolean closed;
+        private LogOptions options;
+        // guarded by the map, see acquire
+        private volatile int users;
+
+        // a spool holds one window of the log, asking for a different window downloads that one instead, the spool
+        // is returned retained so that it stays readable when it is evicted or replaced before the caller releases it
+        synchronized LogSpool get(String namespace, String podName, LogOptions requested,
+                                  boolean refresh) throws ApiException, IOException {
+            if (spool == null || refresh || !requested.equals(options)) {
+                LogSpool previous = spool;
+                try (InputStream in = kubeUtils.streamPodLogs(namespace, podName, requested)) {
+                    spool = LogSpool.create(in, directory);
+                }
+                options = requested;
+                if (closed) {
+                    closeQuietly(spool);
+                }
+                log.debug("Spooled {} lines of logs for pod {} in {}", spool.getLineCount(), podName, namespace);
+                closeQuietly(previous);
+            }
+            // the lock is held, so the spool can only have been closed by a shutdown
+            if (!spool.retain()) {
+                throw new IOException("Log spool was closed");
+            }
+            return spool;
+        }
+
+        // read without the lock so that eviction doesn't wait behind another pod's download
+        long lastAccess() {
+            LogSpool current = spool;
+            return current == null ? System.currentTimeMillis() : current.getLastAccess();
+        }
+
+        boolean isIdle(long now) {
+            LogSpool current = spool;
+            return current != null && now - current.getLastAccess() > idleMillis;
+        }
+
+        // not synchronized, a holder is only closed once nobody uses it, so this never waits behind a download
+        void close() {
+            closed = true;
+            closeQuietly(spool);
+        }
+
+        private void closeQuietly(LogSpool logSpool) {
+            if (logSpool != null) {
+                try {
+                    logSpool.close();
+                } catch (IOException e) {
+                    log.warn("Unable to remove log spool", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package org.vogel.kubernetes.dashboard.log;
+
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Response;
+import io.kubernetes.client.ApiException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public class LogStreams {
+    private LogStreams() {
+    }
+
+    public static InputStream open(Call call) throws ApiException {
+        try {
+            Response response = call.execute();
+            if (!response.isSuccessful()) {
+                String body = response.body()
+                        .string();
+                throw new ApiException(response.code(), response.headers()
+                        .toMultimap(), body);
+            }
+            return response.body()
+                    .byteStream();
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package org.vogel.kubernetes.dashboard.persistentvolume;
 import io.kubernetes.client.custom.Quantity;
 import io.kubernetes.client.models.*;
 import lombok.Getter;
+import org.joda.time.DateTime;
 import org.vogel.kubernetes.dashboard.Metadata;
 
 import java.util.Map;
@@ -21,7 +22,7 @@ public class PersistentVolume extends Metadata {
     private String storageClass;
     private String reason;
     private String finalizers;
-    private String deletionTimestamp;
+    private DateTime deletionTime;
     private String nodeAffinity;
     private String message;
     private Map<String, String> source;
@@ -55,11 +56,15 @@ public class PersistentVolume extends Metadata {
             finalizers = metadata.getFinalizers()
                     .toString();
         }
-        deletionTimestamp = translateTimestamp(metadata.getDeletionTimestamp());
+        deletionTime = metadata.getDeletionTimestamp();
         message = pvStatus.getMessage();
         source = determineSource(pvSpec);
     }
 
+    public String getDeletionTimestamp() {
+        return translateTimestamp(deletionTime);
+    }
+
     private String getPersistentVolumeClass(V1PersistentVolume pv) {
         Map<String, String> annotations = pv.getMetadata()
                 .getAnnotations();
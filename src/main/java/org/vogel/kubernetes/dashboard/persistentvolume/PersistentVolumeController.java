@@ -1,15 +1,26 @@
 package org.vogel.kubernetes.dashboard.persistentvolume;
 
-import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.Event;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageRequest;
+import org.vogel.kubernetes.dashboard.ResourceExecutors;
+import org.vogel.kubernetes.dashboard.Versioned;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
 
 @Slf4j
 @Controller
@@ -17,42 +28,62 @@ import javax.validation.constraints.NotNull;
 public class PersistentVolumeController {
 
     private KubernetesUtils kubeUtils;
+    private ResourceExecutors resourceExecutors;
 
-    public PersistentVolumeController(KubernetesUtils kubeUtils) {
+    public PersistentVolumeController(KubernetesUtils kubeUtils, ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listPersistentVolumes(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listPersistentVolumes(Model model, WebRequest request,
+                                                           @PathVariable("namespace") String namespace,
+                                                           @RequestParam(value = "limit",
+                                                           defaultValue = DEFAULT_LIMIT) int limit,
+                                                           @RequestParam(value = "continue",
+                                                           required = false) String continueToken,
+                                                           @RequestParam(value = "history",
+                                                           required = false) List<String> history) {
         log.debug("In listPersistentVolumes with namespace: {}", namespace);
-        try {
-            model.addAttribute("persistentVolumes", kubeUtils.getPersistentVolumes());
+        return resourceExecutors.render("persistentvolumes", "Error getting list of persistent volumes", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<PersistentVolume> page = kubeUtils.getPersistentVolumes(pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("persistentVolumes", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "persistent_volumes";
-        } catch (ApiException e) {
-            log.error("Error getting list of persistent volumes", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{persistentVolumeName}")
-    public String describePersistentVolume(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                           @PathVariable @NotNull String persistentVolumeName) {
+    public CompletableFuture<Object> describePersistentVolume(Model model, WebRequest request,
+                                                              @PathVariable("namespace") @NotNull String namespace,
+                                                              @PathVariable @NotNull String persistentVolumeName) {
         log.debug("In describePersistentVolume with namespace: {} and persistent volume: {}", namespace,
                   persistentVolumeName);
-        try {
-            PersistentVolume persistentVolume = kubeUtils.getPersistentVolume(persistentVolumeName);
-            model.addAttribute("persistentVolume", persistentVolume);
+        return resourceExecutors.render("persistentvolumes", "Error getting persistent volume", () -> {
+            Versioned<PersistentVolume> persistentVolume = kubeUtils.getPersistentVolume(persistentVolumeName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "PersistentVolume", persistentVolumeName,
+                                                                persistentVolume.getUid());
+            String eTag = new ETagBuilder().add(persistentVolume.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("persistentVolume", persistentVolume.get());
             model.addAttribute("persistentVolumeName", persistentVolumeName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "PersistentVolume", persistentVolumeName,
-                                                   persistentVolume.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "persistent_volume_describe";
-        } catch (ApiException e) {
-            log.error("Error getting persistent volume", e);
-            return "error";
-        }
+        });
     }
 }
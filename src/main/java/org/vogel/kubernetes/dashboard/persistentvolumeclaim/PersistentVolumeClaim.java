@@ -6,6 +6,7 @@ import io.kubernetes.client.models.V1PersistentVolumeClaim;
 import io.kubernetes.client.models.V1PersistentVolumeClaimSpec;
 import io.kubernetes.client.models.V1PersistentVolumeClaimStatus;
 import lombok.Getter;
+import org.joda.time.DateTime;
 import org.apache.commons.collections4.CollectionUtils;
 import org.vogel.kubernetes.dashboard.Metadata;
 
@@ -24,7 +25,7 @@ public class PersistentVolumeClaim extends Metadata {
     private String capacity;
     private String accessModes;
     private String storageClass;
-    private String deletionTimestamp;
+    private DateTime deletionTime;
     private String finalizers;
     private String volumeMode;
     private List<PersistentVolumeClaimCondition> conditions;
@@ -56,7 +57,7 @@ public class PersistentVolumeClaim extends Metadata {
         }
         storageClass = getPersistentVolumeClaimClass(pvc);
 
-        deletionTimestamp = translateTimestamp(metadata.getDeletionTimestamp());
+        deletionTime = metadata.getDeletionTimestamp();
         if (metadata.getFinalizers() == null) {
             finalizers = "[]";
         } else {
@@ -71,6 +72,10 @@ public class PersistentVolumeClaim extends Metadata {
         }
     }
 
+    public String getDeletionTimestamp() {
+        return translateTimestamp(deletionTime);
+    }
+
     private String getPersistentVolumeClaimClass(V1PersistentVolumeClaim pvc) {
         Map<String, String> annotations = pvc.getMetadata()
                 .getAnnotations();
@@ -1,15 +1,26 @@
 package org.vogel.kubernetes.dashboard.persistentvolumeclaim;
 
-import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.Event;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageRequest;
+import org.vogel.kubernetes.dashboard.ResourceExecutors;
+import org.vogel.kubernetes.dashboard.Versioned;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
 
 @Slf4j
 @Controller
@@ -17,42 +28,62 @@ import javax.validation.constraints.NotNull;
 public class PersistentVolumeClaimController {
 
     private KubernetesUtils kubeUtils;
+    private ResourceExecutors resourceExecutors;
 
-    public PersistentVolumeClaimController(KubernetesUtils kubeUtils) {
+    public PersistentVolumeClaimController(KubernetesUtils kubeUtils, ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listPersistentVolumeClaims(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listPersistentVolumeClaims(Model model, WebRequest request,
+            @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "history", required = false) List<String> history) {
         log.debug("In listPersistentVolumeClaims with namespace: {}", namespace);
-        try {
-            model.addAttribute("persistentVolumeClaims", kubeUtils.getPersistentVolumeClaims(namespace));
+        return resourceExecutors.render("persistentvolumeclaims",
+                                        "Error getting list of persistent volume claims", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<PersistentVolumeClaim> page = kubeUtils.getPersistentVolumeClaims(namespace, pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("persistentVolumeClaims", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "persistent_volume_claims";
-        } catch (ApiException e) {
-            log.error("Error getting list of persistent volume claims", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{persistentVolumeClaimName}")
-    public String describePersistentVolumeClaim(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                                @PathVariable @NotNull String persistentVolumeClaimName) {
+    public CompletableFuture<Object> describePersistentVolumeClaim(Model model, WebRequest request,
+            @PathVariable("namespace") @NotNull String namespace,
+            @PathVariable @NotNull String persistentVolumeClaimName) {
         log.debug("In describePersistentVolumeClaim with namespace: {} and persistent volume claim: {}", namespace,
                   persistentVolumeClaimName);
-        try {
-            PersistentVolumeClaim persistentVolumeClaim = kubeUtils.getPersistentVolumeClaim(namespace, persistentVolumeClaimName);
-            model.addAttribute("persistentVolumeClaim", persistentVolumeClaim);
+        return resourceExecutors.render("persistentvolumeclaims", "Error getting persistent volume", () -> {
+            Versioned<PersistentVolumeClaim> persistentVolumeClaim = kubeUtils.getPersistentVolumeClaim(
+                    namespace, persistentVolumeClaimName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "PersistentVolumeClaim",
+                                                                persistentVolumeClaimName,
+                                                                persistentVolumeClaim.getUid());
+            String eTag = new ETagBuilder().add(persistentVolumeClaim.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("persistentVolumeClaim", persistentVolumeClaim.get());
             model.addAttribute("persistentVolumeClaimName", persistentVolumeClaimName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "PersistentVolumeClaim", persistentVolumeClaimName,
-                                                   persistentVolumeClaim.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "persistent_volume_claim_describe";
-        } catch (ApiException e) {
-            log.error("Error getting persistent volume", e);
-            return "error";
-        }
+        });
     }
 }
@@ -2,14 +2,32 @@ package org.vogel.kubernetes.dashboard.replicaset;
 
 import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.Event;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageRequest;
+import org.vogel.kubernetes.dashboard.ResourceExecutors;
+import org.vogel.kubernetes.dashboard.Streaming;
+import org.vogel.kubernetes.dashboard.Versioned;
+import org.vogel.kubernetes.dashboard.log.LogMergeService;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
+import static org.vogel.kubernetes.dashboard.log.LogResponses.TEXT_PLAIN_UTF8;
+import static org.vogel.kubernetes.dashboard.log.LogResponses.toHttpStatus;
 
 @Slf4j
 @Controller
@@ -17,40 +35,81 @@ import javax.validation.constraints.NotNull;
 public class ReplicaSetController {
 
     private KubernetesUtils kubeUtils;
+    private LogMergeService logMergeService;
+    private ResourceExecutors resourceExecutors;
 
-    public ReplicaSetController(KubernetesUtils kubeUtils) {
+    public ReplicaSetController(KubernetesUtils kubeUtils, LogMergeService logMergeService,
+                                ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.logMergeService = logMergeService;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listReplicaSets(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listReplicaSets(Model model, WebRequest request,
+                                                     @PathVariable("namespace") String namespace,
+                                                     @RequestParam(value = "limit",
+                                                     defaultValue = DEFAULT_LIMIT) int limit,
+                                                     @RequestParam(value = "continue",
+                                                     required = false) String continueToken,
+                                                     @RequestParam(value = "history",
+                                                     required = false) List<String> history) {
         log.debug("In listReplicaSets with namespace: {}", namespace);
-        try {
-            model.addAttribute("replicaSets", kubeUtils.getReplicaSets(namespace));
+        return resourceExecutors.render("replicasets", "Error getting list of replica sets", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<ReplicaSet> page = kubeUtils.getReplicaSets(namespace, pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("replicaSets", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "replica_sets";
-        } catch (ApiException e) {
-            log.error("Error getting list of replica sets", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{replicaSetName}")
-    public String describeReplicaSet(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                     @PathVariable @NotNull String replicaSetName) {
+    public CompletableFuture<Object> describeReplicaSet(Model model, WebRequest request,
+                                                        @PathVariable("namespace") @NotNull String namespace,
+                                                        @PathVariable @NotNull String replicaSetName) {
         log.debug("In describeReplicaSet with namespace: {} and replica set: {}", namespace, replicaSetName);
-        try {
-            ReplicaSet replicaSet = kubeUtils.getReplicaSet(namespace, replicaSetName);
-            model.addAttribute("replicaSet", replicaSet);
+        return resourceExecutors.render("replicasets", "Error getting replica set", () -> {
+            Versioned<ReplicaSet> replicaSet = kubeUtils.getReplicaSet(namespace, replicaSetName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "ReplicaSet", replicaSetName,
+                                                                replicaSet.getUid());
+            String eTag = new ETagBuilder().add(replicaSet.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("replicaSet", replicaSet.get());
             model.addAttribute("replicaSetName", replicaSetName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "ReplicaSet", replicaSetName, replicaSet.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "replica_set_describe";
+        });
+    }
+
+    @GetMapping("/{replicaSetName}/logs")
+    @Streaming
+    public ResponseEntity<StreamingResponseBody> showReplicaSetLogs(
+            @PathVariable("namespace") @NotNull String namespace, @PathVariable @NotNull String replicaSetName) {
+        log.debug("In showReplicaSetLogs with namespace: {} and replica set: {}", namespace, replicaSetName);
+        try {
+            List<String> podNames = kubeUtils.getReplicaSetPodNames(namespace, replicaSetName);
+            return ResponseEntity.ok()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(out -> logMergeService.merge(namespace, podNames, out));
         } catch (ApiException e) {
-            log.error("Error getting replica set", e);
-            return "error";
+            log.error("Error getting pods for replica set {}", replicaSetName, e);
+            return ResponseEntity.status(toHttpStatus(e))
+                    .build();
         }
     }
 }
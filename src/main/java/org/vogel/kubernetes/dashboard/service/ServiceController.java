@@ -1,15 +1,26 @@
 package org.vogel.kubernetes.dashboard.service;
 
-import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.ETagBuilder;
+import org.vogel.kubernetes.dashboard.Event;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageRequest;
+import org.vogel.kubernetes.dashboard.ResourceExecutors;
+import org.vogel.kubernetes.dashboard.Versioned;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.vogel.kubernetes.dashboard.PageRequest.DEFAULT_LIMIT;
 
 @Slf4j
 @Controller
@@ -17,39 +28,60 @@ import javax.validation.constraints.NotNull;
 public class ServiceController {
 
     private KubernetesUtils kubeUtils;
+    private ResourceExecutors resourceExecutors;
 
-    public ServiceController(KubernetesUtils kubeUtils) {
+    public ServiceController(KubernetesUtils kubeUtils, ResourceExecutors resourceExecutors) {
         this.kubeUtils = kubeUtils;
+        this.resourceExecutors = resourceExecutors;
     }
 
     @GetMapping
-    public String listServices(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<Object> listServices(Model model, WebRequest request,
+                                                  @PathVariable("namespace") String namespace,
+                                                  @RequestParam(value = "limit",
+                                                  defaultValue = DEFAULT_LIMIT) int limit,
+                                                  @RequestParam(value = "continue",
+                                                  required = false) String continueToken,
+                                                  @RequestParam(value = "history",
+                                                  required = false) List<String> history) {
         log.debug("In listServices with namespace: {}", namespace);
-        try {
-            model.addAttribute("services", kubeUtils.getServices(namespace));
+        return resourceExecutors.render("services", "Error getting list of services", () -> {
+            PageRequest pageRequest = new PageRequest(limit, continueToken, history);
+            Page<Service> page = kubeUtils.getServices(namespace, pageRequest);
+            List<String> namespaces = kubeUtils.getNamespaces();
+            String eTag = new ETagBuilder().add(page.getVersion())
+                    .add(namespaces)
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("services", page.getItems());
+            model.addAttribute("page", page);
             model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
+            model.addAttribute("namespaces", namespaces);
             return "services";
-        } catch (ApiException e) {
-            log.error("Error getting list of services", e);
-            return "error";
-        }
+        });
     }
 
     @GetMapping("/{serviceName}")
-    public String describeService(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                  @PathVariable @NotNull String serviceName) {
+    public CompletableFuture<Object> describeService(Model model, WebRequest request,
+                                                     @PathVariable("namespace") @NotNull String namespace,
+                                                     @PathVariable @NotNull String serviceName) {
         log.debug("In describeService with namespace: {} and service: {}", namespace, serviceName);
-        try {
-            Service service = kubeUtils.getService(namespace, serviceName);
-            model.addAttribute("service", service);
+        return resourceExecutors.render("services", "Error getting service", () -> {
+            Versioned<Service> service = kubeUtils.getService(namespace, serviceName);
+            Versioned<List<Event>> events = kubeUtils.getEvents(namespace, "Service", serviceName, service.getUid());
+            String eTag = new ETagBuilder().add(service.getVersion())
+                    .add(events.getVersion())
+                    .build();
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            model.addAttribute("service", service.get());
             model.addAttribute("serviceName", serviceName);
-            model.addAttribute("events", kubeUtils.getEvents(namespace, "Service", serviceName, service.getUid()));
+            model.addAttribute("events", events.get());
             model.addAttribute("namespace", namespace);
             return "service_describe";
-        } catch (ApiException e) {
-            log.error("Error getting service", e);
-            return "error";
-        }
+        });
     }
 }
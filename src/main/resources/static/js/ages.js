@@ -0,0 +1,43 @@
+(function () {
+    // pages can be answered from the browser cache, so every age is worked out here from the timestamps
+    var SECOND = 1000;
+    var MINUTE = 60 * SECOND;
+    var HOUR = 60 * MINUTE;
+    var DAY = 24 * HOUR;
+
+    function age(timestamp) {
+        var millis = Math.max(0, Date.now() - Date.parse(timestamp));
+        var days = Math.floor(millis / DAY);
+        if (days > 365) {
+            return Math.floor(days / 365) + 'y';
+        } else if (days > 0) {
+            return days + 'd';
+        } else if (millis >= HOUR) {
+            return Math.floor(millis / HOUR) + 'h';
+        } else if (millis >= MINUTE) {
+            return Math.floor(millis / MINUTE) + 'm';
+        }
+        return Math.floor(millis / SECOND) + 's';
+    }
+
+    function interval(element) {
+        var count = parseInt(element.dataset.count, 10);
+        if (count > 1) {
+            return age(element.dataset.lastTimestamp) + ' (x' + count + ' over ' +
+                age(element.dataset.firstTimestamp) + ')';
+        }
+        return age(element.dataset.firstTimestamp);
+    }
+
+    function update() {
+        document.querySelectorAll('[data-timestamp]').forEach(function (element) {
+            element.textContent = age(element.dataset.timestamp);
+        });
+        document.querySelectorAll('[data-first-timestamp]').forEach(function (element) {
+            element.textContent = interval(element);
+        });
+    }
+
+    update();
+    setInterval(update, SECOND);
+})();
@@ -0,0 +1,169 @@
+(function () {
+    var LINE_HEIGHT = 18;
+    var BLOCK = 500;
+    var MAX_CHUNKS = 20;
+    // browsers stop growing an element somewhere past 30M pixels, longer logs scroll proportionally
+    var MAX_HEIGHT = 10000000;
+
+    var viewport = document.getElementById('viewport');
+    var spacer = document.getElementById('spacer');
+    var logs = document.getElementById('logs');
+    var followToggle = document.getElementById('follow');
+    var linesUrl = viewport.dataset.lines;
+    var separator = linesUrl.indexOf('?') < 0 ? '?' : '&';
+
+    var total = 0;
+    var chunks = [];
+    var pending = {};
+    var tail = [];
+    var events = null;
+    var loaded = false;
+    var scheduled = false;
+
+    function lineCount() {
+        return total + tail.length;
+    }
+
+    function visibleLines() {
+        return Math.max(1, Math.floor(viewport.clientHeight / LINE_HEIGHT));
+    }
+
+    function firstVisible() {
+        var scrollable = spacer.offsetHeight - viewport.clientHeight;
+        if (scrollable <= 0) {
+            return 0;
+        }
+        var fraction = Math.min(1, viewport.scrollTop / scrollable);
+        return Math.round(fraction * Math.max(0, lineCount() - visibleLines()));
+    }
+
+    function lineAt(index) {
+        if (index >= total) {
+            return tail[index - total];
+        }
+        for (var i = 0; i < chunks.length; i++) {
+            var chunk = chunks[i];
+            if (index >= chunk.from && index < chunk.from + chunk.lines.length) {
+                return chunk.lines[index - chunk.from];
+            }
+        }
+        return undefined;
+    }
+
+    function addChunk(from, lines) {
+        chunks.push({from: from, lines: lines});
+        if (chunks.length > MAX_CHUNKS) {
+            chunks.shift();
+        }
+    }
+
+    function fetchBlock(index) {
+        var from = Math.floor(index / BLOCK) * BLOCK;
+        if (pending[from]) {
+            return;
+        }
+        pending[from] = true;
+        fetch(linesUrl + separator + 'from=' + from + '&count=' + BLOCK).then(function (response) {
+            return response.json();
+        }).then(function (result) {
+            addChunk(result.from, result.lines);
+        }).finally(function () {
+            delete pending[from];
+            schedule();
+        });
+    }
+
+    function render() {
+        scheduled = false;
+        spacer.style.height = Math.min(lineCount() * LINE_HEIGHT, MAX_HEIGHT) + 'px';
+        var first = firstVisible();
+        var last = Math.min(lineCount(), first + visibleLines() + 1);
+        var text = [];
+        for (var i = first; i < last; i++) {
+            var line = lineAt(i);
+            if (line === undefined) {
+                fetchBlock(i);
+                line = '';
+            }
+            text.push(line);
+        }
+        logs.style.top = viewport.scrollTop + 'px';
+        logs.textContent = text.join('\n');
+    }
+
+    function schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            window.requestAnimationFrame(render);
+        }
+    }
+
+    function atEnd() {
+        return viewport.scrollTop + viewport.clientHeight >= viewport.scrollHeight - LINE_HEIGHT;
+    }
+
+    function scrollToEnd() {
+        spacer.style.height = Math.min(lineCount() * LINE_HEIGHT, MAX_HEIGHT) + 'px';
+        viewport.scrollTop = viewport.scrollHeight;
+        schedule();
+    }
+
+    function startFollowing() {
+        if (events || !loaded || !followToggle.checked) {
+            return;
+        }
+        events = new EventSource(viewport.dataset.follow);
+        events.onmessage = function (event) {
+            var following = atEnd();
+            tail.push(event.data);
+            if (following) {
+                scrollToEnd();
+            } else {
+                schedule();
+            }
+        };
+        events.addEventListener('dropped', function (event) {
+            tail.push('-- ' + event.data + ', reload to continue --');
+            stopFollowing();
+            followToggle.checked = false;
+            schedule();
+        });
+    }
+
+    function stopFollowing() {
+        if (events) {
+            events.close();
+            events = null;
+        }
+    }
+
+    viewport.addEventListener('scroll', schedule);
+    window.addEventListener('resize', schedule);
+    document.getElementById('top').addEventListener('click', function () {
+        viewport.scrollTop = 0;
+    });
+    document.getElementById('end').addEventListener('click', scrollToEnd);
+    followToggle.addEventListener('change', function () {
+        if (followToggle.checked) {
+            startFollowing();
+        } else {
+            stopFollowing();
+        }
+    });
+
+    // spool a fresh copy of the log on the server and start at its end
+    fetch(linesUrl + separator + 'from=-1&count=' + BLOCK + '&refresh=true').then(function (response) {
+        if (!response.ok) {
+            throw new Error(response.status);
+        }
+        return response.json();
+    }).then(function (result) {
+        total = result.total;
+        addChunk(result.from, result.lines);
+        loaded = true;
+        scrollToEnd();
+        startFollowing();
+    }).catch(function (error) {
+        logs.textContent = 'Unable to load logs (' + error.message + ')';
+    });
+})();
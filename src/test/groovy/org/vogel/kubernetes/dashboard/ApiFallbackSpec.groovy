@@ -0,0 +1,172 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.ApiException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ApiFallbackSpec extends Specification {
+    def registry = new SimpleMeterRegistry()
+    def fallback = new ApiFallback(new SingleFlight(registry), 2, 30, 16)
+    def pool = Executors.newCachedThreadPool()
+
+    def setup() {
+        ApiFallback.takeStaleSince()
+    }
+
+    def cleanup() {
+        fallback.shutdown()
+        pool.shutdownNow()
+    }
+
+    def "fresh answers are not stale"() {
+        when:
+        def result = fallback.call("listNamespacedService", "default", "100:null", { ["web"] })
+
+        then:
+        result == ["web"]
+        ApiFallback.takeStaleSince() == null
+    }
+
+    def "a failing api server is answered from the last good answer"() {
+        given:
+        fallback.call("listNamespacedService", "default", "100:null", { ["web"] })
+
+        when:
+        def result = fallback.call("listNamespacedService", "default", "100:null", {
+            throw new ApiException(503, "down")
+        })
+
+        then:
+        result == ["web"]
+        ApiFallback.takeStaleSince() != null
+        ApiFallback.takeStaleSince() == null
+    }
+
+    def "failures without a last good answer are thrown"() {
+        when:
+        fallback.call("listNamespacedService", "default", "100:null", { throw new ApiException(503, "down") })
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 503
+    }
+
+    def "the api server saying no is not hidden behind the last good answer"() {
+        given:
+        fallback.call("readNamespacedService", "default", "web", { "web" })
+
+        when:
+        fallback.call("readNamespacedService", "default", "web", { throw new ApiException(404, "not found") })
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 404
+
+        when:
+        fallback.call("readNamespacedService", "default", "web", { throw new ApiException(500, "down") })
+
+        then:
+        e = thrown(ApiException)
+        e.code == 500
+    }
+
+    def "an open breaker stops calls to the method"() {
+        given:
+        def calls = 0
+        fallback.call("readNamespacedConfigMap", "default", "a", { calls++; "a1" })
+        2.times { fail(fallback, "readNamespacedConfigMap", { calls++ }) }
+
+        when:
+        def results = (1..5).collect {
+            fallback.call("readNamespacedConfigMap", "default", "a", { calls++; "a2" })
+        }
+
+        then:
+        results == ["a1"] * 5
+        calls == 3
+    }
+
+    def "stale answers are revalidated once in the background when the breaker lets calls through again"() {
+        given:
+        def fallback = new ApiFallback(new SingleFlight(new SimpleMeterRegistry()), 2, 1, 16)
+        def refreshed = 0
+        def refresh = { refreshed++; "a2" }
+        fallback.call("readNamespacedConfigMap", "default", "a", { "a1" })
+        2.times { fail(fallback, "readNamespacedConfigMap") }
+
+        when:
+        def results = (1..3).collect { fallback.call("readNamespacedConfigMap", "default", "a", refresh) }
+        waitFor { refreshed > 0 }
+        Thread.sleep(100)
+
+        then:
+        results == ["a1"] * 3
+        refreshed == 1
+        fallback.call("readNamespacedConfigMap", "default", "a", { "a3" }) == "a3"
+
+        cleanup:
+        fallback.shutdown()
+    }
+
+    def "a failed request shared by several callers counts against the breaker once"() {
+        given:
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        def failing = {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            throw new ApiException(500, "down")
+        }
+        def callers = (1..4).collect {
+            pool.submit({
+                try {
+                    fallback.call("readNamespacedSecret", "default", "db", failing)
+                } catch (ApiException e) {
+                    e.code
+                }
+            } as Callable)
+        }
+        started.await(5, TimeUnit.SECONDS)
+        waitFor { registry.counter(SingleFlight.CALLS_METRIC, "method", "readNamespacedSecret", "namespace",
+                                   "default", "flight", "coalesced").count() == 3 }
+
+        when:
+        release.countDown()
+        def codes = callers*.get(5, TimeUnit.SECONDS)
+        def result = fallback.call("readNamespacedSecret", "default", "cache", { "cache" })
+
+        then:
+        codes == [500] * 4
+        result == "cache"
+    }
+
+    def "breakers are kept per method"() {
+        given:
+        2.times { fail(fallback, "listNamespacedIngress") }
+
+        when:
+        def result = fallback.call("listNamespacedConfigMap", "default", "100:null", { ["cm"] })
+
+        then:
+        result == ["cm"]
+    }
+
+    private static void fail(ApiFallback fallback, String method, Closure counter = {}) {
+        try {
+            fallback.call(method, "default", "failing", { counter(); throw new ApiException(500, "down") })
+        } catch (ApiException ignored) {
+        }
+    }
+
+    private static void waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.vogel.kubernetes.dashboard
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import static org.vogel.kubernetes.dashboard.ApiRateLimiter.Priority.BULK
+import static org.vogel.kubernetes.dashboard.ApiRateLimiter.Priority.INTERACTIVE
+
+class ApiRateLimiterSpec extends Specification {
+    def registry = new SimpleMeterRegistry()
+    def pool = Executors.newFixedThreadPool(4)
+
+    def cleanup() {
+        pool.shutdownNow()
+    }
+
+    def "calls within the burst are not held back"() {
+        given:
+        def limiter = new ApiRateLimiter(1, 3, registry)
+
+        when:
+        def results = (1..3).collect { n -> limiter.call(BULK, { n }) }
+
+        then:
+        results == [1, 2, 3]
+        registry.get(ApiRateLimiter.QUEUE_METRIC)
+                .tag("priority", "bulk")
+                .timer()
+                .count() == 3
+    }
+
+    def "calls past the burst wait for the next token"() {
+        given:
+        def limiter = new ApiRateLimiter(10, 1, registry)
+        limiter.call(BULK, { "first" })
+
+        when:
+        long start = System.nanoTime()
+        limiter.call(INTERACTIVE, { "second" })
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+
+        then:
+        waited >= 50
+        registry.get(ApiRateLimiter.QUEUE_METRIC)
+                .tag("priority", "interactive")
+                .timer()
+                .max(TimeUnit.MILLISECONDS) >= 50
+    }
+
+    def "interactive calls are let through before bulk calls that queued first"() {
+        given:
+        def limiter = new ApiRateLimiter(2, 1, registry)
+        def order = Collections.synchronizedList([])
+        limiter.call(BULK, { "drain" })
+        def bulk = pool.submit({ limiter.call(BULK, { order << "bulk" }) } as Callable)
+        waitFor { limiter.waiting == 1 }
+        def interactive = pool.submit({ limiter.call(INTERACTIVE, { order << "interactive" }) } as Callable)
+        waitFor { limiter.waiting == 2 }
+
+        when:
+        bulk.get(5, TimeUnit.SECONDS)
+        interactive.get(5, TimeUnit.SECONDS)
+
+        then:
+        order == ["interactive", "bulk"]
+        limiter.waiting == 0
+    }
+
+    def "a qps of zero turns the limiter off"() {
+        given:
+        def limiter = new ApiRateLimiter(0, 1, registry)
+
+        when:
+        def results = (1..20).collect { n -> limiter.call(BULK, { n }) }
+
+        then:
+        results.size() == 20
+    }
+
+    private static void waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+}
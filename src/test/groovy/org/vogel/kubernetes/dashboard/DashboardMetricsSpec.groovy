@@ -0,0 +1,138 @@
+package org.vogel.kubernetes.dashboard
+
+import com.squareup.okhttp.Interceptor
+import com.squareup.okhttp.MediaType
+import com.squareup.okhttp.Protocol
+import com.squareup.okhttp.Request
+import com.squareup.okhttp.Response
+import com.squareup.okhttp.ResponseBody
+import io.kubernetes.client.ApiException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class DashboardMetricsSpec extends Specification {
+    def registry = new SimpleMeterRegistry()
+    def metrics = new DashboardMetrics(registry)
+
+    def "calls are timed by kind, verb and outcome"() {
+        when:
+        metrics.time("pods", "list", { [] })
+        try {
+            metrics.time("pods", "get", { throw new ApiException(404, "not found") })
+        } catch (ApiException ignored) {
+        }
+        try {
+            metrics.time("pods", "get", { throw new ApiException(new IOException("refused")) })
+        } catch (ApiException ignored) {
+        }
+
+        then:
+        calls("pods", "list", "SUCCESS") == 1
+        calls("pods", "get", "CLIENT_ERROR") == 1
+        calls("pods", "get", "UNKNOWN") == 1
+    }
+
+    def "item counts are recorded"() {
+        when:
+        metrics.recordItems("services", "list", 3)
+        metrics.recordItems("services", "list", 5)
+
+        then:
+        def summary = registry.get(DashboardMetrics.ITEMS_METRIC)
+                .tags("kind", "services", "verb", "list")
+                .summary()
+        summary.count() == 2
+        summary.totalAmount() == 8
+    }
+
+    def "views are timed when they are built"() {
+        given:
+        def views = metrics.timedViews(Event, "get", { "view" })
+        def timer = registry.get(DashboardMetrics.VIEW_MODELS_METRIC)
+                .tags("type", "Event", "verb", "get")
+                .timer()
+
+        expect:
+        timer.count() == 0
+        views.get() == "view"
+        timer.count() == 1
+    }
+
+    def "templates are timed by view"() {
+        when:
+        metrics.recordTemplate("pods", 1000)
+
+        then:
+        registry.get(DashboardMetrics.TEMPLATES_METRIC)
+                .tag("view", "pods")
+                .timer()
+                .count() == 1
+    }
+
+    def "response bytes are counted as the body is read"() {
+        given:
+        def request = new Request.Builder().url("https://kube/api/v1/namespaces/default/pods")
+                .build()
+        def chain = Mock(Interceptor.Chain)
+        chain.request() >> request
+        chain.proceed(request) >> new Response.Builder().request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .body(ResponseBody.create(MediaType.parse("application/json"), '{"items":[]}'))
+                .build()
+
+        when:
+        def body = metrics.payloadInterceptor()
+                .intercept(chain)
+                .body()
+                .string()
+
+        then:
+        body == '{"items":[]}'
+        def summary = registry.get(DashboardMetrics.BYTES_METRIC)
+                .tags("kind", "pods", "verb", "list")
+                .summary()
+        summary.count() == 1
+        summary.totalAmount() == 12
+    }
+
+    def "watches are not counted"() {
+        given:
+        def request = new Request.Builder().url("https://kube/api/v1/namespaces/default/pods?watch=true")
+                .build()
+        def response = new Response.Builder().request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .body(ResponseBody.create(MediaType.parse("application/json"), ""))
+                .build()
+        def chain = Mock(Interceptor.Chain)
+        chain.request() >> request
+        chain.proceed(request) >> response
+
+        expect:
+        metrics.payloadInterceptor()
+                .intercept(chain).is(response)
+    }
+
+    def "the resource is read from the api path"() {
+        expect:
+        DashboardMetrics.resourceOf(path.split("/").toList()) as List == expected
+
+        where:
+        path                                                 || expected
+        "api/v1/namespaces"                                  || ["namespaces", "list"]
+        "api/v1/namespaces/default/pods"                     || ["pods", "list"]
+        "api/v1/namespaces/default/pods/web"                 || ["pods", "get"]
+        "api/v1/namespaces/default/pods/web/log"             || ["pods", "log"]
+        "apis/apps/v1beta2/namespaces/default/deployments"   || ["deployments", "list"]
+        "api/v1/persistentvolumes/data"                      || ["persistentvolumes", "get"]
+        "version"                                            || null
+    }
+
+    private double calls(String kind, String verb, String outcome) {
+        registry.get(DashboardMetrics.CALLS_METRIC)
+                .tags("kind", kind, "verb", verb, "outcome", outcome)
+                .timer()
+                .count()
+    }
+}
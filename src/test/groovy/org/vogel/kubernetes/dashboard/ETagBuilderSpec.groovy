@@ -0,0 +1,61 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.ApiException
+import io.kubernetes.client.models.V1ObjectMeta
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class ETagBuilderSpec extends Specification {
+    def "the same objects give the same etag"() {
+        expect:
+        etag([meta("a", "1"), meta("b", "2")]) == etag([meta("a", "1"), meta("b", "2")])
+    }
+
+    def "the order objects are added in doesn't matter"() {
+        expect:
+        etag([meta("a", "1"), meta("b", "2")]) == etag([meta("b", "2"), meta("a", "1")])
+    }
+
+    def "a new resource version, uid or object changes the etag"() {
+        expect:
+        etag([meta("a", "1")]) != etag(changed)
+
+        where:
+        changed << [[meta("a", "2")], [meta("c", "1")], [meta("a", "1"), meta("b", "1")], []]
+    }
+
+    def "a page built from last good answers does not share the etag of the fresh page"() {
+        given:
+        def fresh = etag([meta("a", "1")])
+        def fallback = new ApiFallback(new SingleFlight(new SimpleMeterRegistry()), 5, 30, 16)
+        fallback.call("listNamespacedService", "default", "100:null", { ["web"] })
+        fallback.call("listNamespacedService", "default", "100:null", { throw new ApiException(503, "down") })
+
+        when:
+        def stale = etag([meta("a", "1")])
+        ApiFallback.takeStaleSince()
+
+        then:
+        stale != fresh
+        etag([meta("a", "1")]) == fresh
+
+        cleanup:
+        fallback.shutdown()
+        ApiFallback.takeStaleSince()
+    }
+
+    def "plain values are part of the etag"() {
+        expect:
+        new ETagBuilder().add("token-1").build() != new ETagBuilder().add("token-2").build()
+        new ETagBuilder().add(["default", "kube-system"]).build() != new ETagBuilder().add(["default"]).build()
+    }
+
+    private static String etag(List<V1ObjectMeta> metadata) {
+        new ETagBuilder().add(metadata, { it })
+                .build()
+    }
+
+    private static V1ObjectMeta meta(String uid, String resourceVersion) {
+        new V1ObjectMeta(uid: uid, resourceVersion: resourceVersion)
+    }
+}
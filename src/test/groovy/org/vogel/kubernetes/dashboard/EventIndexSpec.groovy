@@ -0,0 +1,92 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.V1Event
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1ObjectReference
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class EventIndexSpec extends Specification {
+    def store = new ResourceStore<V1Event, V1Event>({ it.metadata }, { it })
+
+    def "events are looked up by the object they are about"() {
+        given:
+        def index = createIndex(100, 3600)
+        store.upsert(createEvent("1", "Pod", "web-1", "pod-uid-1", 30))
+        store.upsert(createEvent("2", "Pod", "web-1", "pod-uid-1", 60))
+        store.upsert(createEvent("3", "Pod", "web-2", "pod-uid-2", 10))
+        store.upsert(createEvent("4", "ReplicaSet", "web-1", "rs-uid", 10))
+
+        expect:
+        index.getEvents("Pod", "web-1", "pod-uid-1")*.message == ["event 2", "event 1"]
+        index.getEvents("Pod", "web-1", "old-pod-uid") == []
+        index.getEvents("ReplicaSet", "web-1", "rs-uid")*.message == ["event 4"]
+    }
+
+    def "updated and deleted events replace their old versions"() {
+        given:
+        def index = createIndex(100, 3600)
+        def event = createEvent("1", "Pod", "web-1", "pod-uid", 60)
+        store.upsert(event)
+
+        when:
+        def updated = createEvent("1", "Pod", "web-1", "pod-uid", 5)
+        updated.metadata.resourceVersion = "2"
+        updated.message = "event 1 again"
+        store.upsert(updated)
+
+        then:
+        index.getEvents("Pod", "web-1", "pod-uid")*.message == ["event 1 again"]
+        index.size() == 1
+
+        when:
+        store.delete(updated)
+
+        then:
+        index.getEvents("Pod", "web-1", "pod-uid") == []
+        index.size() == 0
+    }
+
+    def "the oldest events are dropped from the store past the maximum count"() {
+        given:
+        def index = createIndex(2, 3600)
+
+        when:
+        store.upsert(createEvent("1", "Pod", "web-1", "pod-uid", 30))
+        store.upsert(createEvent("2", "Pod", "web-1", "pod-uid", 20))
+        store.upsert(createEvent("3", "Pod", "web-1", "pod-uid", 10))
+
+        then:
+        index.getEvents("Pod", "web-1", "pod-uid")*.message == ["event 2", "event 3"]
+        index.size() == 2
+        store.size() == 2
+    }
+
+    def "events past the maximum age are dropped"() {
+        given:
+        def index = createIndex(100, 60)
+
+        when:
+        store.replace([createEvent("1", "Pod", "web-1", "pod-uid", 120), createEvent("2", "Pod", "web-1", "pod-uid",
+                                                                                   10)])
+
+        then:
+        index.getEvents("Pod", "web-1", "pod-uid")*.message == ["event 2"]
+        store.size() == 1
+    }
+
+    private EventIndex createIndex(int maxEvents, long maxAgeSeconds) {
+        def index = new EventIndex(store, maxEvents, maxAgeSeconds * 1000)
+        store.addListener(index)
+        index
+    }
+
+    private static V1Event createEvent(String uid, String kind, String name, String objectUid, int secondsAgo) {
+        def event = new V1Event()
+        event.metadata = new V1ObjectMeta(uid: uid, name: "${name}.${uid}", resourceVersion: "1")
+        event.involvedObject = new V1ObjectReference(kind: kind, name: name, uid: objectUid)
+        event.lastTimestamp = DateTime.now().minusSeconds(secondsAgo)
+        event.message = "event ${uid}"
+        event
+    }
+}
@@ -0,0 +1,100 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1Pod
+import spock.lang.Specification
+
+class LabelIndexSpec extends Specification {
+    def index = new LabelIndex<V1Pod>({ it.metadata })
+
+    def "select by equality and set requirements"() {
+        given:
+        index.added(createPod("1", "web-1", [app: "foo", tier: "web"]))
+        index.added(createPod("2", "api-1", [app: "foo", tier: "api"]))
+        index.added(createPod("3", "db-1", [app: "foo", tier: "db"]))
+        index.added(createPod("4", "other-1", [app: "bar", tier: "web"]))
+
+        expect:
+        names(Selector.parse("app=foo,tier in (web,api)")) == ["api-1", "web-1"]
+        names(Selector.parse("app=foo,tier notin (web)")) == ["api-1", "db-1"]
+        names(Selector.parse("tier!=db")) == ["api-1", "other-1", "web-1"]
+        names(Selector.parse("app=baz")) == []
+        names(new Selector()).size() == 4
+    }
+
+    def "select by existence and numeric requirements"() {
+        given:
+        index.added(createPod("1", "canary-1", [app: "foo", canary: "true", shard: "3"]))
+        index.added(createPod("2", "stable-1", [app: "foo", shard: "12"]))
+
+        expect:
+        names(Selector.parse("canary")) == ["canary-1"]
+        names(Selector.parse("app=foo,!canary")) == ["stable-1"]
+        names(Selector.parse("shard>5")) == ["stable-1"]
+        names(Selector.parse("shard<5")) == ["canary-1"]
+    }
+
+    def "updates move an item between postings"() {
+        given:
+        def old = createPod("1", "web-1", [app: "foo"])
+        index.added(old)
+
+        when:
+        index.updated(old, createPod("1", "web-1", [app: "bar"]))
+
+        then:
+        names(Selector.parse("app=foo")) == []
+        names(Selector.parse("app=bar")) == ["web-1"]
+        index.size() == 1
+    }
+
+    def "deleted slots are reused"() {
+        given:
+        def first = createPod("1", "web-1", [app: "foo"])
+        index.added(first)
+        index.deleted(first)
+
+        when:
+        index.added(createPod("2", "web-2", [app: "foo"]))
+
+        then:
+        names(Selector.parse("app=foo")) == ["web-2"]
+        index.size() == 1
+    }
+
+    def "items without labels only match the empty selector"() {
+        given:
+        index.added(createPod("1", "bare", null))
+
+        expect:
+        names(new Selector()) == ["bare"]
+        names(Selector.parse("app")) == []
+        names(Selector.parse("!app")) == ["bare"]
+    }
+
+    def "index is kept up to date by a store"() {
+        given:
+        def store = new ResourceStore<V1Pod, V1Pod>({ it.metadata }, { it })
+        store.addListener(index)
+
+        when:
+        store.replace([createPod("1", "web-1", [app: "foo"]), createPod("2", "web-2", [app: "foo"])])
+        store.delete(createPod("2", "web-2", [app: "foo"]))
+
+        then:
+        names(Selector.parse("app=foo")) == ["web-1"]
+    }
+
+    private List<String> names(Selector selector) {
+        index.select(selector)
+                .collect { it.metadata.name }
+                .sort()
+    }
+
+    private static V1Pod createPod(String uid, String name, Map<String, String> labels) {
+        new V1Pod().metadata(new V1ObjectMeta().uid(uid)
+                                     .name(name)
+                                     .resourceVersion("1")
+                                     .labels(labels))
+    }
+}
@@ -0,0 +1,98 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.ApiException
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1Pod
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.function.Consumer
+import java.util.function.Function
+
+class NamespacedCacheSpec extends Specification {
+    def namespaceCache = Mock(NamespaceCache)
+    def release = new CountDownLatch(1)
+    Consumer<String> deletionListener
+    TestCache cache
+
+    def setup() {
+        namespaceCache.addDeletionListener(_) >> { deletionListener = it[0] }
+        namespaceCache.exists(_) >> { it[0] != "typo" }
+    }
+
+    def cleanup() {
+        release.countDown()
+        cache?.shutdown()
+    }
+
+    def "namespaces the cluster does not have are not watched"() {
+        given:
+        cache = new TestCache(namespaceCache, 4, 30, release)
+
+        when:
+        cache.getStore("typo")
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 404
+        !cache.isWatched("typo")
+    }
+
+    def "deleted namespaces stop their watch"() {
+        given:
+        cache = new TestCache(namespaceCache, 4, 30, release)
+        cache.getStore("default")
+
+        when:
+        deletionListener.accept("default")
+
+        then:
+        !cache.isWatched("default")
+    }
+
+    def "idle namespaces stop their watch"() {
+        given:
+        cache = new TestCache(namespaceCache, 4, 0, release)
+        cache.getStore("default")
+        Thread.sleep(10)
+
+        when:
+        cache.evictIdle()
+
+        then:
+        !cache.isWatched("default")
+    }
+
+    def "the number of watched namespaces is bounded"() {
+        given:
+        cache = new TestCache(namespaceCache, 1, 30, release)
+        cache.getStore("default")
+
+        when:
+        cache.getStore("kube-system")
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 503
+        cache.isWatched("default")
+        !cache.isWatched("kube-system")
+    }
+
+    static class TestCache extends NamespacedCache<V1Pod, String> {
+        private final CountDownLatch release
+
+        TestCache(NamespaceCache namespaceCache, int maxNamespaces, long idleMinutes, CountDownLatch release) {
+            super("test", { it.metadata } as Function<V1Pod, V1ObjectMeta>,
+                  { it.metadata.name } as Function<V1Pod, String>, namespaceCache, 5, maxNamespaces, idleMinutes)
+            this.release = release
+        }
+
+        @Override
+        protected ResourceWatcher<V1Pod> createWatcher(String namespace, ResourceStore<V1Pod, ?> store) {
+            // lists nothing and then holds its thread like a watch would
+            new ResourceWatcher<V1Pod>(namespace, apiClient, { new ResourceWatcher.Snapshot<V1Pod>([], "1") },
+                                       { release.await(); throw new ApiException("stopped") }, V1Pod,
+                                       { it.metadata } as Function<V1Pod, V1ObjectMeta>, store)
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.vogel.kubernetes.dashboard
+
+import spock.lang.Specification
+
+class PageSpec extends Specification {
+    def "first page with more results"() {
+        when:
+        def page = new Page<String>(["a", "b"], new PageRequest(2, "", null), "token-2")
+
+        then:
+        page.limit == 2
+        !page.hasPrevious()
+        page.hasNext()
+        page.nextToken == "token-2"
+        page.nextHistory == [""]
+    }
+
+    def "middle page remembers how to go back"() {
+        when:
+        def page = new Page<String>(["e", "f"], new PageRequest(2, "token-3", ["", "token-2"]), "token-4")
+
+        then:
+        page.hasPrevious()
+        page.hasNext()
+        page.previousToken == "token-2"
+        page.previousHistory == [""]
+        page.nextHistory == ["", "token-2", "token-3"]
+    }
+
+    def "last page"() {
+        when:
+        def page = new Page<String>(["c"], new PageRequest(2, "token-2", null), null)
+
+        then:
+        page.hasPrevious()
+        !page.hasNext()
+        page.previousToken == ""
+        page.previousHistory == []
+    }
+
+    def "only the most recent history is kept and going back past it lands on the first page"() {
+        given:
+        def history = [""] + (2..20).collect { "token-$it".toString() }
+
+        when:
+        def page = new Page<String>(["x"], new PageRequest(2, "token-21", history), "token-22")
+
+        then:
+        page.request.history.size() == PageRequest.MAX_HISTORY
+        page.nextHistory == (12..21).collect { "token-$it".toString() }
+
+        when:
+        def oldest = new Page<String>(["y"], new PageRequest(2, "token-12", []), "token-13")
+
+        then:
+        oldest.hasPrevious()
+        oldest.previousToken == ""
+    }
+
+    def "limit is clamped"() {
+        expect:
+        new PageRequest(0, null, null).limit == 1
+        new PageRequest(10000, null, null).limit == PageRequest.MAX_LIMIT
+        PageRequest.firstPage(50).isFirstPage()
+    }
+
+    def "items are built once and only when asked for"() {
+        given:
+        def built = 0
+        def page = new Page<String>({ built++; ["a"] }, PageRequest.firstPage(2), null, "v1")
+
+        expect:
+        page.version == "v1"
+        built == 0
+        page.items == ["a"]
+        page.items == ["a"]
+        built == 1
+    }
+}
@@ -1,23 +1,36 @@
 package org.vogel.kubernetes.dashboard
 
 import io.kubernetes.client.ApiException
+import org.springframework.http.HttpStatus
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
+import org.vogel.kubernetes.dashboard.log.LogFollowService
+import org.vogel.kubernetes.dashboard.log.LogLines
+import org.vogel.kubernetes.dashboard.log.LogOptions
+import org.vogel.kubernetes.dashboard.log.LogResponses
+import org.vogel.kubernetes.dashboard.log.LogSpoolService
 import spock.lang.Specification
 
+import java.util.concurrent.RejectedExecutionException
+import java.util.zip.GZIPInputStream
+
 class PodControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of Pods"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        def resultPod = Mock(Pod)
+        def resultPod = Mock(PodSummary)
         def resultList = [resultPod]
-        kubeUtil.getPods("default") >> resultList
+        kubeUtil.getPods("default", _) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new PodController(kubeUtil)
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listPods(model, "default")
+        def result = controller.listPods(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "pods"
@@ -29,12 +42,12 @@ class PodControllerSpec extends Specification {
     def "test getting a list of Pods with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPods("default") >> { throw new ApiException() }
-        def controller = new PodController(kubeUtil)
+        kubeUtil.getPods("default", _) >> { throw new ApiException() }
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listPods(model, "default")
+        def result = controller.listPods(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -44,12 +57,13 @@ class PodControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPod = Mock(Pod)
-        kubeUtil.getPod("default", "my-pod") >> resultPod
-        def controller = new PodController(kubeUtil)
+        kubeUtil.getPod("default", "my-pod") >> new Versioned<>("uid", "1", { resultPod })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describePod(model, "default", "my-pod")
+        def result = controller.describePod(model, Mock(WebRequest), "default", "my-pod").get()
 
         then:
         result == "pod_describe"
@@ -58,15 +72,42 @@ class PodControllerSpec extends Specification {
         1 * model.addAttribute("podName", "my-pod")
     }
 
+    def "unchanged Pods are answered with not modified before anything is built"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def built = 0
+        kubeUtil.getPods("default", _) >> new Page<>({ built++; [] }, PageRequest.firstPage(100), null, "v1")
+        kubeUtil.getNamespaces() >> ["default"]
+        kubeUtil.getPod("default", "my-pod") >> new Versioned<>("uid", "1", { built++; Mock(Pod) })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { built++; [] })
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+        def eTags = []
+        request.checkNotModified(_) >> { String eTag -> eTags << eTag; true }
+
+        when:
+        def list = controller.listPods(model, request, "default", 100, null, null).get()
+        def describe = controller.describePod(model, request, "default", "my-pod").get()
+
+        then:
+        list.statusCode == HttpStatus.NOT_MODIFIED
+        describe.statusCode == HttpStatus.NOT_MODIFIED
+        built == 0
+        0 * model.addAttribute(*_)
+        eTags.size() == 2
+        eTags[0] != eTags[1]
+    }
+
     def "test describing a Pod with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getPod("default", "my-pod") >> { throw new ApiException() }
-        def controller = new PodController(kubeUtil)
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describePod(model, "default", "my-pod")
+        def result = controller.describePod(model, Mock(WebRequest), "default", "my-pod").get()
 
         then:
         result == "error"
@@ -75,32 +116,181 @@ class PodControllerSpec extends Specification {
     def "test show a Pod log"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        def resultPod = "foo\n\tbar\n"
-        kubeUtil.getPodLogs("default", "my-pod") >> resultPod
-        def controller = new PodController(kubeUtil)
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.showPodLogs(model, "default", "my-pod")
+        def result = controller.showPodLogs(model, "default", "my-pod", 1000, 0, 1048576)
 
         then:
         result == "logs"
         1 * model.addAttribute("namespace", "default")
-        1 * model.addAttribute("logs", ["foo", "        bar"])
         1 * model.addAttribute("podName", "my-pod")
+        1 * model.addAttribute("options", new LogOptions(1000, 0, 1048576))
+        1 * model.addAttribute("earlier", new LogOptions(4000, 0, 4194304))
+        0 * kubeUtil._
     }
 
-    def "test show a Pod log with exception"() {
+    def "test show a whole Pod log"() {
         given:
-        def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPodLogs("default", "my-pod") >> { throw new ApiException() }
-        def controller = new PodController(kubeUtil)
+        def controller = new PodController(Mock(KubernetesUtils), Mock(LogFollowService),
+                                           Mock(LogSpoolService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.showPodLogs(model, "default", "my-pod")
+        controller.showPodLogs(model, "default", "my-pod", 0, 0, 0)
 
         then:
-        result == "error"
+        1 * model.addAttribute("options", LogOptions.ALL)
+        1 * model.addAttribute("earlier", null)
+    }
+
+    def "test stream a Pod log"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod", new LogOptions(100, 60, 0)) >>
+                new ByteArrayInputStream("foo\n\tbar\n".getBytes("UTF-8"))
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.streamPodLogs("default", "my-pod", 100, 60, 0)
+        result.body.writeTo(out)
+
+        then:
+        result.statusCode == HttpStatus.OK
+        out.toString("UTF-8") == "foo\n        bar\n"
+    }
+
+    def "test stream a Pod log with exception"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod", _) >> { throw new ApiException(404, "not found") }
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
+
+        when:
+        def result = controller.streamPodLogs("default", "my-pod", 1000, 0, 1048576)
+
+        then:
+        result.statusCode == HttpStatus.NOT_FOUND
+        result.body == null
+    }
+
+    def "test download a Pod log"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod") >> new ByteArrayInputStream("foo\n\tbar\n".getBytes("UTF-8"))
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.downloadPodLogs("default", "my-pod")
+        result.body.writeTo(out)
+
+        then:
+        result.statusCode == HttpStatus.OK
+        result.headers.getContentType() == LogResponses.APPLICATION_GZIP
+        result.headers.getContentDisposition().filename == "default-my-pod.log.gz"
+        new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).getText("UTF-8") == "foo\n\tbar\n"
+    }
+
+    def "test download a Pod log with exception"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod") >> { throw new ApiException(404, "not found") }
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
+
+        when:
+        def result = controller.downloadPodLogs("default", "my-pod")
+
+        then:
+        result.statusCode == HttpStatus.NOT_FOUND
+    }
+
+    def "test follow a Pod log"() {
+        given:
+        def followService = Mock(LogFollowService)
+        def emitter = new SseEmitter()
+        def controller = new PodController(Mock(KubernetesUtils), followService, Mock(LogSpoolService), executors)
+
+        when:
+        def result = controller.followPodLogs("default", "my-pod")
+
+        then:
+        1 * followService.follow("default", "my-pod") >> emitter
+        result.statusCode == HttpStatus.OK
+        result.body == emitter
+    }
+
+    def "test follow a Pod log when too many are followed"() {
+        given:
+        def followService = Mock(LogFollowService)
+        def controller = new PodController(Mock(KubernetesUtils), followService, Mock(LogSpoolService), executors)
+
+        when:
+        def result = controller.followPodLogs("default", "my-pod")
+
+        then:
+        1 * followService.follow("default", "my-pod") >> { throw new RejectedExecutionException("full") }
+        result.statusCode == HttpStatus.SERVICE_UNAVAILABLE
+    }
+
+    def "test get a window of Pod log lines"() {
+        given:
+        def spoolService = Mock(LogSpoolService)
+        def lines = new LogLines(10, 12, ["a", "b"])
+        def controller = new PodController(Mock(KubernetesUtils), Mock(LogFollowService), spoolService, executors)
+
+        when:
+        def result = controller.getPodLogLines("default", "my-pod", 1000, 0, 1048576, -1, 2, true)
+
+        then:
+        1 * spoolService.getLines("default", "my-pod", new LogOptions(1000, 0, 1048576), -1, 2, true) >> lines
+        result.statusCode == HttpStatus.OK
+        result.body == lines
+    }
+
+    def "test get Pod log lines with exception"() {
+        given:
+        def spoolService = Mock(LogSpoolService)
+        spoolService.getLines("default", "my-pod", LogOptions.ALL, 0, 200, false) >> {
+            throw new ApiException(403, "forbidden")
+        }
+        def controller = new PodController(Mock(KubernetesUtils), Mock(LogFollowService), spoolService, executors)
+
+        when:
+        def result = controller.getPodLogLines("default", "my-pod", 0, 0, 0, 0, 200, false)
+
+        then:
+        result.statusCode == HttpStatus.FORBIDDEN
+    }
+
+    def "test search a Pod log"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod") >> new ByteArrayInputStream("ok\nERROR one\nok\n".getBytes("UTF-8"))
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.searchPodLogs("default", "my-pod", "error", 0, 100, true)
+        result.body.writeTo(out)
+
+        then:
+        result.statusCode == HttpStatus.OK
+        out.toString("UTF-8") == "2:ERROR one\n-- 1 matches in 3 lines\n"
+    }
+
+    def "test search a Pod log with a bad pattern"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def controller = new PodController(kubeUtil, Mock(LogFollowService), Mock(LogSpoolService), executors)
+
+        when:
+        def result = controller.searchPodLogs("default", "my-pod", "error(", 2, 100, false)
+
+        then:
+        result.statusCode == HttpStatus.BAD_REQUEST
+        0 * kubeUtil._
     }
 }
@@ -0,0 +1,69 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.V1Container
+import io.kubernetes.client.models.V1ContainerState
+import io.kubernetes.client.models.V1ContainerStateRunning
+import io.kubernetes.client.models.V1ContainerStateTerminated
+import io.kubernetes.client.models.V1ContainerStateWaiting
+import io.kubernetes.client.models.V1ContainerStatus
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1Pod
+import io.kubernetes.client.models.V1PodSpec
+import io.kubernetes.client.models.V1PodStatus
+import io.kubernetes.client.models.V1ResourceRequirements
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class PodSummarySpec extends Specification {
+    def "summarizing a running Pod"() {
+        given:
+        def kubePod = createPod([createStatus(true, 2, new V1ContainerState(running: new V1ContainerStateRunning())),
+                                 createStatus(false, 1, new V1ContainerState(
+                                         waiting: new V1ContainerStateWaiting(reason: "CrashLoopBackOff")))])
+
+        when:
+        def summary = new PodSummary(kubePod)
+
+        then:
+        summary.name == "web-1"
+        summary.ready == "1/2"
+        summary.status == "Running"
+        summary.restarts == 3
+        summary.creationTimestamp == kubePod.metadata.creationTimestamp
+        summary.age == "3h"
+    }
+
+    def "a Pod agrees with its summary"() {
+        given:
+        def kubePod = createPod([createStatus(false, 4, new V1ContainerState(
+                terminated: new V1ContainerStateTerminated(exitCode: 1))), createStatus(false, 0, new V1ContainerState(
+                terminated: new V1ContainerStateTerminated(reason: "Completed")))])
+
+        when:
+        def summary = new PodSummary(kubePod)
+        def pod = new Pod(kubePod)
+
+        then:
+        summary.ready == pod.ready
+        summary.reason == pod.reason
+        summary.restarts == pod.restarts
+        summary.status == pod.status
+        summary.age == pod.age
+    }
+
+    private static V1Pod createPod(List<V1ContainerStatus> containerStatuses) {
+        def pod = new V1Pod()
+        pod.metadata = new V1ObjectMeta(name: "web-1", creationTimestamp: DateTime.now()
+                .minusHours(3))
+        pod.spec = new V1PodSpec(containers: containerStatuses.collect {
+            new V1Container(name: it.name, resources: new V1ResourceRequirements())
+        })
+        pod.status = new V1PodStatus(phase: "Running", containerStatuses: containerStatuses)
+        pod
+    }
+
+    private static V1ContainerStatus createStatus(boolean ready, int restartCount, V1ContainerState state) {
+        new V1ContainerStatus(name: "container-${restartCount}", ready: ready, restartCount: restartCount,
+                              state: state, lastState: new V1ContainerState())
+    }
+}
@@ -248,4 +248,72 @@ class RequirementSpec extends Specification {
         def e = thrown(RequirementException)
         e.message == "invalid label key .example.com/foo:prefix part a DNS-1123 subdomain must consist of lower case alphanumeric characters, '-' or '.', and must start and end with an alphanumeric character (e.g. 'example.com' , regex used for validation is '[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*')"
     }
+
+    def "match labels against a Requirement"(String operation, List<String> values, Map<String, String> labels,
+                                             boolean result) {
+        expect:
+        new Requirement("foo", operation, values).matches(labels) == result
+
+        where:
+        operation | values         | labels                 | result
+        "="       | ["bar"]        | [foo: "bar"]           | true
+        "="       | ["bar"]        | [foo: "baz"]           | false
+        "="       | ["bar"]        | [:]                    | false
+        "=="      | ["bar"]        | [foo: "bar"]           | true
+        "!="      | ["bar"]        | [foo: "baz"]           | true
+        "!="      | ["bar"]        | [foo: "bar"]           | false
+        "!="      | ["bar"]        | [:]                    | true
+        "in"      | ["bar", "baz"] | [foo: "baz"]           | true
+        "in"      | ["bar", "baz"] | [foo: "qux"]           | false
+        "in"      | ["bar", "baz"] | null                   | false
+        "notin"   | ["bar", "baz"] | [foo: "qux"]           | true
+        "notin"   | ["bar", "baz"] | [foo: "bar"]           | false
+        "notin"   | ["bar", "baz"] | [:]                    | true
+        "exists"  | []             | [foo: "bar"]           | true
+        "exists"  | []             | [other: "bar"]         | false
+        "!"       | []             | [other: "bar"]         | true
+        "!"       | []             | [foo: "bar"]           | false
+        "gt"      | ["5"]          | [foo: "6"]             | true
+        "gt"      | ["5"]          | [foo: "5"]             | false
+        "gt"      | ["5"]          | [foo: "abc"]           | false
+        "gt"      | ["5"]          | [:]                    | false
+        "lt"      | ["5"]          | [foo: "-1"]            | true
+        "lt"      | ["5"]          | [foo: "-"]             | false
+    }
+
+    def "create Requirement does not sort the caller's values"() {
+        given:
+        def values = ["b", "a"]
+
+        when:
+        Requirement req = new Requirement("foo", "in", values)
+
+        then:
+        req.values == ["a", "b"]
+        values == ["b", "a"]
+    }
+
+    def "validated keys and values are accepted again"() {
+        when:
+        new Requirement("example.com/foo", "in", ["bar", "baz"])
+        Requirement req = new Requirement("example.com/foo", "in", ["bar", "baz"])
+
+        then:
+        req.string() == "example.com/foo in (bar,baz)"
+    }
+
+    def "rejected keys are rejected again"() {
+        when:
+        new Requirement("Example.com/foo", "=", ["bar"])
+
+        then:
+        thrown(RequirementException)
+
+        when:
+        new Requirement("Example.com/foo", "=", ["bar"])
+
+        then:
+        def e = thrown(RequirementException)
+        e.message.startsWith("invalid label key Example.com/foo:prefix part a DNS-1123 subdomain")
+    }
 }
@@ -0,0 +1,105 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.ApiException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.http.HttpStatus
+import org.springframework.web.servlet.ModelAndView
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class ResourceExecutorsSpec extends Specification {
+    def executors = new ResourceExecutors(1, 1)
+
+    def cleanup() {
+        executors.shutdown()
+    }
+
+    def "pages are rendered on the executor"() {
+        when:
+        def result = executors.render("pods", "Error", { Thread.currentThread().name }).get()
+
+        then:
+        result == "pods-api"
+    }
+
+    def "a full executor turns pages away without blocking other kinds"() {
+        given:
+        def release = new CountDownLatch(1)
+        def running = new CountDownLatch(1)
+        def slow = executors.render("pods", "Error", {
+            running.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            "pods"
+        })
+        running.await(5, TimeUnit.SECONDS)
+        def queued = executors.render("pods", "Error", { "pods" })
+
+        when:
+        def rejected = executors.render("pods", "Error", { "pods" }).get()
+        def other = executors.render("services", "Error", { "services" }).get()
+
+        then:
+        rejected instanceof ModelAndView
+        rejected.viewName == "error"
+        rejected.status == HttpStatus.SERVICE_UNAVAILABLE
+        other == "services"
+
+        when:
+        release.countDown()
+
+        then:
+        slow.get() == "pods"
+        queued.get() == "pods"
+    }
+
+    def "a page answered with not modified has no body"() {
+        when:
+        def result = executors.render("pods", "Error", { null }).get()
+
+        then:
+        result.statusCode == HttpStatus.NOT_MODIFIED
+        result.body == null
+    }
+
+    def "pages built from last good answers carry when they were fetched"() {
+        given:
+        def fallback = new ApiFallback(new SingleFlight(new SimpleMeterRegistry()), 5, 30, 16)
+        fallback.call("listNamespacedService", "default", "100:null", { ["web"] })
+
+        when:
+        def result = executors.render("services", "Error", {
+            fallback.call("listNamespacedService", "default", "100:null", { throw new ApiException(503, "down") })
+            "services"
+        }).get()
+        def fresh = executors.render("services", "Error", { "services" }).get()
+
+        then:
+        result instanceof ModelAndView
+        result.viewName == "services"
+        result.model.staleSince != null
+        fresh == "services"
+
+        cleanup:
+        fallback.shutdown()
+    }
+
+    def "api errors show the error page"() {
+        when:
+        def result = executors.render("pods", "Error", { throw new ApiException(500, "boom") }).get()
+
+        then:
+        result == "error"
+    }
+
+    def "submit completes with the api error"() {
+        when:
+        executors.submit("pods", { throw new ApiException(403, "forbidden") }).join()
+
+        then:
+        def e = thrown(Exception)
+        e.cause instanceof ApiException
+        e.cause.code == 403
+    }
+}
@@ -0,0 +1,140 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.ApiException
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1Pod
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class ResourceStoreSpec extends Specification {
+    def "replace lists items sorted by name"() {
+        given:
+        def store = new ResourceStore<V1Pod, String>({ it.metadata }, { it.metadata.name })
+
+        when:
+        store.replace([createPod("uid-b", "b", "1"), createPod("uid-a", "a", "1")])
+        store.awaitSynced(1, TimeUnit.SECONDS)
+
+        then:
+        store.size() == 2
+        store.views == ["a", "b"]
+        store.getItem("b").get().metadata.uid == "uid-b"
+        !store.getItem("c").isPresent()
+    }
+
+    def "view is reused until the resourceVersion changes"() {
+        given:
+        int built = 0
+        def store = new ResourceStore<V1Pod, String>({ it.metadata }, { built++; it.metadata.resourceVersion })
+        store.replace([createPod("uid-a", "a", "1")])
+
+        when:
+        store.getView("a")
+        store.upsert(createPod("uid-a", "a", "1"))
+        store.getView("a")
+        store.replace([createPod("uid-a", "a", "1")])
+        def unchanged = store.getView("a").get()
+
+        then:
+        built == 1
+        unchanged == "1"
+
+        when:
+        store.upsert(createPod("uid-a", "a", "2"))
+        def changed = store.getView("a").get()
+
+        then:
+        built == 2
+        changed == "2"
+    }
+
+    def "items after a name share the stored views"() {
+        given:
+        int built = 0
+        def store = new ResourceStore<V1Pod, String>({ it.metadata }, { built++; it.metadata.name })
+        store.replace([createPod("uid-a", "a", "1"), createPod("uid-b", "b", "1"), createPod("uid-c", "c", "1")])
+
+        when:
+        def items = store.getItemsAfter("a", 1)
+        store.viewOf(items[0])
+        def view = store.viewOf(items[0])
+
+        then:
+        items*.metadata*.name == ["b"]
+        view == "b"
+        built == 1
+
+        when:
+        def stale = items[0]
+        store.upsert(createPod("uid-b", "b", "2"))
+        store.viewOf(stale)
+
+        then:
+        built == 2
+        store.getItemsAfter(null, 5)*.metadata*.name == ["a", "b", "c"]
+    }
+
+    def "delete and replace remove items"() {
+        given:
+        def store = new ResourceStore<V1Pod, String>({ it.metadata }, { it.metadata.name })
+        store.replace([createPod("uid-a", "a", "1"), createPod("uid-b", "b", "1"), createPod("uid-c", "c", "1")])
+
+        when:
+        store.delete(createPod("uid-a", "a", "2"))
+        store.replace([createPod("uid-b", "b", "2")])
+
+        then:
+        store.views == ["b"]
+    }
+
+    def "recreated item with the same name replaces the old uid"() {
+        given:
+        def store = new ResourceStore<V1Pod, String>({ it.metadata }, { it.metadata.uid })
+        store.replace([createPod("uid-a", "a", "1")])
+
+        when:
+        store.upsert(createPod("uid-new", "a", "5"))
+        store.delete(createPod("uid-a", "a", "6"))
+
+        then:
+        store.views == ["uid-new"]
+    }
+
+    def "listeners are told about changes"() {
+        given:
+        def store = new ResourceStore<V1Pod, String>({ it.metadata }, { it.metadata.name })
+        def listener = Mock(ResourceStore.StoreListener)
+        store.addListener(listener)
+
+        when:
+        store.replace([createPod("uid-a", "a", "1"), createPod("uid-b", "b", "1")])
+        store.upsert(createPod("uid-a", "a", "1"))
+        store.upsert(createPod("uid-a", "a", "2"))
+        store.replace([createPod("uid-a", "a", "2")])
+
+        then:
+        2 * listener.added(_)
+        1 * listener.updated({ it.metadata.resourceVersion == "1" }, { it.metadata.resourceVersion == "2" })
+        1 * listener.deleted({ it.metadata.name == "b" })
+    }
+
+    def "failed sync is reported to waiting readers"() {
+        given:
+        def store = new ResourceStore<V1Pod, String>({ it.metadata }, { it.metadata.name })
+
+        when:
+        store.failSync(new ApiException(403, "forbidden"))
+        store.awaitSynced(1, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 403
+    }
+
+    private static V1Pod createPod(String uid, String name, String resourceVersion) {
+        new V1Pod().metadata(new V1ObjectMeta().uid(uid)
+                                     .name(name)
+                                     .resourceVersion(resourceVersion))
+    }
+}
@@ -1,5 +1,7 @@
 package org.vogel.kubernetes.dashboard
 
+import io.kubernetes.client.models.V1LabelSelector
+import io.kubernetes.client.models.V1LabelSelectorRequirement
 import spock.lang.Specification
 
 class SelectorSpec extends Specification {
@@ -26,4 +28,76 @@ class SelectorSpec extends Specification {
         selector.string() == "foo=bar"
         selector.requirements.size() == 1
     }
+
+    def "parse a selector string"(String input, String result) {
+        expect:
+        Selector.parse(input).string() == result
+
+        where:
+        input                                 | result
+        ""                                    | ""
+        null                                  | ""
+        "app=web"                             | "app=web"
+        "app == web"                          | "app==web"
+        "app!=web"                            | "app!=web"
+        "tier in (frontend, backend),!canary" | "tier in (backend,frontend),!canary"
+        "tier notin (db)"                     | "tier notin (db)"
+        "example.com/team"                    | "example.com/team"
+        "replicas>2,replicas<10"              | "replicas>2,replicas<10"
+    }
+
+    def "parse a malformed selector string"(String input) {
+        when:
+        Selector.parse(input)
+
+        then:
+        thrown(RequirementException)
+
+        where:
+        input << ["app=web,", "tier in (a,b", "app!web", "replicas>two", "tier in ()"]
+    }
+
+    def "match labels against a parsed selector"() {
+        given:
+        Selector selector = Selector.parse("app=web,tier in (frontend,backend),!canary")
+
+        expect:
+        selector.matches([app: "web", tier: "frontend"])
+        !selector.matches([app: "web", tier: "frontend", canary: "true"])
+        !selector.matches([app: "web", tier: "db"])
+        !selector.matches(null)
+        new Selector().matches([app: "web"])
+    }
+
+    def "create Selector from a label selector"() {
+        given:
+        def labelSelector = new V1LabelSelector().matchLabels([app: "web"])
+                .matchExpressions([new V1LabelSelectorRequirement().key("tier")
+                                           .operator("In")
+                                           .values(["frontend"]),
+                                   new V1LabelSelectorRequirement().key("canary")
+                                           .operator("DoesNotExist")])
+
+        when:
+        Selector selector = Selector.fromLabelSelector(labelSelector)
+
+        then:
+        selector.string() == "app=web,tier in (frontend),!canary"
+        selector.matches([app: "web", tier: "frontend"])
+        !selector.matches([app: "web", tier: "frontend", canary: "true"])
+    }
+
+    def "create Selector from an invalid label selector"() {
+        given:
+        def labelSelector = new V1LabelSelector().matchExpressions([new V1LabelSelectorRequirement().key("tier")
+                                                                            .operator("Gt")
+                                                                            .values(["1"])])
+
+        when:
+        Selector.fromLabelSelector(labelSelector)
+
+        then:
+        def e = thrown(RequirementException)
+        e.message == "Gt is not a valid pod selector operator"
+    }
 }
@@ -0,0 +1,108 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.ApiException
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class SingleFlightSpec extends Specification {
+    def registry = new SimpleMeterRegistry()
+    def singleFlight = new SingleFlight(registry)
+    def pool = Executors.newFixedThreadPool(4)
+
+    def cleanup() {
+        pool.shutdownNow()
+    }
+
+    def "overlapping identical calls share one request"() {
+        given:
+        def calls = 0
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        def first = pool.submit({
+            singleFlight.call("listNamespacedPod", "default", "100:null", {
+                calls++
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                ["pod-a"]
+            })
+        } as Callable)
+        started.await(5, TimeUnit.SECONDS)
+        def others = (1..3).collect {
+            pool.submit({
+                singleFlight.call("listNamespacedPod", "default", "100:null", { calls++; ["pod-b"] })
+            } as Callable)
+        }
+        waitFor { registry.counter(SingleFlight.CALLS_METRIC, "method", "listNamespacedPod", "namespace", "default",
+                                   "flight", "coalesced").count() == 3 }
+
+        when:
+        release.countDown()
+
+        then:
+        first.get() == ["pod-a"]
+        others*.get() == [["pod-a"]] * 3
+        calls == 1
+        registry.counter(SingleFlight.CALLS_METRIC, "method", "listNamespacedPod", "namespace", "default",
+                         "flight", "issued").count() == 1
+        registry.get(SingleFlight.IN_FLIGHT_METRIC).gauge().value() == 0
+    }
+
+    def "different keys and later calls go to the api"() {
+        given:
+        def calls = []
+
+        when:
+        singleFlight.call("readNamespacedPod", "default", "a", { calls << "a"; "a" })
+        singleFlight.call("readNamespacedPod", "default", "b", { calls << "b"; "b" })
+        singleFlight.call("readNamespacedPod", "kube-system", "a", { calls << "kube-system a"; "a" })
+        singleFlight.call("readNamespacedPod", "default", "a", { calls << "a again"; "a" })
+
+        then:
+        calls == ["a", "b", "kube-system a", "a again"]
+    }
+
+    def "a failed call fails everyone waiting on it"() {
+        given:
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        def first = pool.submit({
+            singleFlight.call("readNamespacedService", "default", "web", {
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+                throw new ApiException(403, "forbidden")
+            })
+        } as Callable)
+        started.await(5, TimeUnit.SECONDS)
+        def waiting = pool.submit({
+            try {
+                singleFlight.call("readNamespacedService", "default", "web", { "web" })
+            } catch (ApiException e) {
+                e.code
+            }
+        } as Callable)
+        waitFor { registry.counter(SingleFlight.CALLS_METRIC, "method", "readNamespacedService", "namespace", "default",
+                                   "flight", "coalesced").count() == 1 }
+
+        when:
+        release.countDown()
+        first.get()
+
+        then:
+        def e = thrown(Exception)
+        e.cause instanceof ApiException
+        waiting.get() == 403
+        singleFlight.call("readNamespacedService", "default", "web", { "web" }) == "web"
+    }
+
+    private static void waitFor(Closure<Boolean> condition) {
+        long deadline = System.currentTimeMillis() + 5000
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+}
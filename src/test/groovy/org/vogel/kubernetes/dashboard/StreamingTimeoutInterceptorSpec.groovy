@@ -0,0 +1,45 @@
+package org.vogel.kubernetes.dashboard
+
+import org.springframework.web.context.request.RequestAttributes
+import org.springframework.web.context.request.async.AsyncWebRequest
+import org.springframework.web.method.HandlerMethod
+import org.springframework.web.servlet.HandlerMapping
+import spock.lang.Specification
+
+class StreamingTimeoutInterceptorSpec extends Specification {
+    def interceptor = new StreamingTimeoutInterceptor(3600000)
+    def request = Mock(AsyncWebRequest)
+
+    def "streaming handlers get the streaming timeout"() {
+        given:
+        request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) >>
+                new HandlerMethod(new Handlers(), "stream")
+
+        when:
+        interceptor.beforeConcurrentHandling(request, { null })
+
+        then:
+        1 * request.setTimeout(3600000)
+    }
+
+    def "other handlers keep the default timeout"() {
+        given:
+        request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) >>
+                new HandlerMethod(new Handlers(), "page")
+
+        when:
+        interceptor.beforeConcurrentHandling(request, { null })
+
+        then:
+        0 * request.setTimeout(_)
+    }
+
+    static class Handlers {
+        @Streaming
+        void stream() {
+        }
+
+        void page() {
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.V1Container
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1PodSpec
+import io.kubernetes.client.models.V1PodTemplateSpec
+import spock.lang.Specification
+
+class TemplateFingerprintSpec extends Specification {
+    def "templates that differ only by pod-template-hash are equal"() {
+        given:
+        def deploymentTemplate = createTemplate(["app": "foo"], "nginx:1.15")
+        def replicaSetTemplate = createTemplate(["app": "foo", "pod-template-hash": "12345"], "nginx:1.15")
+
+        when:
+        def deploymentFingerprint = new TemplateFingerprint(deploymentTemplate)
+        def replicaSetFingerprint = new TemplateFingerprint(replicaSetTemplate)
+
+        then:
+        deploymentFingerprint == replicaSetFingerprint
+        deploymentFingerprint.hashCode() == replicaSetFingerprint.hashCode()
+        replicaSetTemplate.metadata.labels["pod-template-hash"] == "12345"
+    }
+
+    def "templates with a different spec are not equal"() {
+        expect:
+        new TemplateFingerprint(createTemplate(["app": "foo"], "nginx:1.15")) !=
+                new TemplateFingerprint(createTemplate(["app": "foo", "pod-template-hash": "1"], "nginx:1.16"))
+    }
+
+    def "templates with different labels are not equal"() {
+        expect:
+        new TemplateFingerprint(createTemplate(["app": "foo"], "nginx:1.15")) !=
+                new TemplateFingerprint(createTemplate(["app": "bar", "pod-template-hash": "1"], "nginx:1.15"))
+    }
+
+    def "templates without labels are compared"() {
+        expect:
+        new TemplateFingerprint(createTemplate(null, "nginx:1.15")) ==
+                new TemplateFingerprint(createTemplate(null, "nginx:1.15"))
+    }
+
+    private static V1PodTemplateSpec createTemplate(Map<String, String> labels, String image) {
+        new V1PodTemplateSpec().metadata(new V1ObjectMeta().labels(labels))
+                .spec(new V1PodSpec().containers([new V1Container().name("web")
+                                                          .image(image)]))
+    }
+}
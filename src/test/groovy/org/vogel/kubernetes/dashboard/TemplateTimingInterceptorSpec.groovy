@@ -0,0 +1,36 @@
+package org.vogel.kubernetes.dashboard
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.web.servlet.ModelAndView
+import spock.lang.Specification
+
+class TemplateTimingInterceptorSpec extends Specification {
+    def registry = new SimpleMeterRegistry()
+    def interceptor = new TemplateTimingInterceptor(new DashboardMetrics(registry))
+    def request = new MockHttpServletRequest()
+    def response = new MockHttpServletResponse()
+
+    def "rendering a view is timed"() {
+        when:
+        interceptor.postHandle(request, response, null, new ModelAndView("pods"))
+        interceptor.afterCompletion(request, response, null, null)
+
+        then:
+        registry.get(DashboardMetrics.TEMPLATES_METRIC)
+                .tag("view", "pods")
+                .timer()
+                .count() == 1
+    }
+
+    def "requests without a view are not timed"() {
+        when:
+        interceptor.postHandle(request, response, null, null)
+        interceptor.afterCompletion(request, response, null, null)
+
+        then:
+        registry.find(DashboardMetrics.TEMPLATES_METRIC)
+                .timer() == null
+    }
+}
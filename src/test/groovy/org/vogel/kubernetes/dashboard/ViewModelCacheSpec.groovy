@@ -0,0 +1,105 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.V1ConfigMap
+import io.kubernetes.client.models.V1ObjectMeta
+import org.vogel.kubernetes.dashboard.configmap.ConfigMap
+import spock.lang.Specification
+
+class ViewModelCacheSpec extends Specification {
+    def creations = 0
+    def creator = { V1ConfigMap configMap ->
+        creations++
+        new ConfigMap(configMap)
+    }
+
+    def "a view is reused until the resource version changes"() {
+        given:
+        def cache = new ViewModelCache(10)
+
+        when:
+        def first = cache.get(ConfigMap, createMetadata("uid-1", "1"), createConfigMap("uid-1", "1"), creator)
+        def second = cache.get(ConfigMap, createMetadata("uid-1", "1"), createConfigMap("uid-1", "1"), creator)
+
+        then:
+        first.is(second)
+        creations == 1
+
+        when:
+        def third = cache.get(ConfigMap, createMetadata("uid-1", "2"), createConfigMap("uid-1", "2"), creator)
+
+        then:
+        !third.is(first)
+        creations == 2
+        cache.size() == 1
+    }
+
+    def "objects without a uid or resource version are never cached"() {
+        given:
+        def cache = new ViewModelCache(10)
+
+        when:
+        cache.get(ConfigMap, createMetadata(uid, resourceVersion), createConfigMap(uid, resourceVersion), creator)
+        cache.get(ConfigMap, createMetadata(uid, resourceVersion), createConfigMap(uid, resourceVersion), creator)
+
+        then:
+        creations == 2
+        cache.size() == 0
+
+        where:
+        uid     | resourceVersion
+        null    | "1"
+        "uid-1" | null
+    }
+
+    def "the cache holds at most its maximum size"() {
+        given:
+        def cache = new ViewModelCache(2)
+
+        when:
+        ["uid-1", "uid-2", "uid-3"].each {
+            cache.get(ConfigMap, createMetadata(it, "1"), createConfigMap(it, "1"), creator)
+        }
+        cache.get(ConfigMap, createMetadata("uid-1", "1"), createConfigMap("uid-1", "1"), creator)
+
+        then:
+        cache.size() == 2
+        creations == 4
+    }
+
+    def "views of different types for the same object are kept apart"() {
+        given:
+        def cache = new ViewModelCache(10)
+        def configMap = createConfigMap("uid-1", "1")
+
+        when:
+        def view = cache.get(ConfigMap, configMap.metadata, configMap, creator)
+        def metadata = cache.get(Metadata, configMap.metadata, configMap, { new Metadata(it.metadata) })
+
+        then:
+        view instanceof ConfigMap
+        metadata instanceof Metadata
+        cache.size() == 2
+    }
+
+    def "a creator looks the metadata up on each item"() {
+        given:
+        def cache = new ViewModelCache(10)
+        def cachingCreator = cache.creator(ConfigMap, { V1ConfigMap it -> it.metadata }, creator)
+
+        when:
+        def first = cachingCreator.apply(createConfigMap("uid-1", "1"))
+        def second = cachingCreator.apply(createConfigMap("uid-1", "1"))
+
+        then:
+        first.is(second)
+        creations == 1
+    }
+
+    private static V1ObjectMeta createMetadata(String uid, String resourceVersion) {
+        new V1ObjectMeta(name: "config", namespace: "default", uid: uid, resourceVersion: resourceVersion)
+    }
+
+    private static V1ConfigMap createConfigMap(String uid, String resourceVersion) {
+        new V1ConfigMap(metadata: createMetadata(uid, resourceVersion), data: [key: "value"])
+    }
+}
@@ -2,23 +2,30 @@ package org.vogel.kubernetes.dashboard.configmap
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageRequest
+import org.vogel.kubernetes.dashboard.ResourceExecutors
+import org.vogel.kubernetes.dashboard.Versioned
 import spock.lang.Specification
 
 class ConfigMapControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of ConfigMaps"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultConfigMap = Mock(ConfigMap)
         def resultList = [resultConfigMap]
-        kubeUtil.getConfigMaps("default") >> resultList
+        kubeUtil.getConfigMaps("default", _) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new ConfigMapController(kubeUtil)
+        def controller = new ConfigMapController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listConfigMaps(model, "default")
+        def result = controller.listConfigMaps(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "config_maps"
@@ -30,12 +37,12 @@ class ConfigMapControllerSpec extends Specification {
     def "test getting a list of ConfigMaps with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getConfigMaps("default") >> { throw new ApiException() }
-        def controller = new ConfigMapController(kubeUtil)
+        kubeUtil.getConfigMaps("default", _) >> { throw new ApiException() }
+        def controller = new ConfigMapController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listConfigMaps(model, "default")
+        def result = controller.listConfigMaps(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -45,12 +52,13 @@ class ConfigMapControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultConfigMap = Mock(ConfigMap)
-        kubeUtil.getConfigMap("default", "my-config-map") >> resultConfigMap
-        def controller = new ConfigMapController(kubeUtil)
+        kubeUtil.getConfigMap("default", "my-config-map") >> new Versioned<>("uid", "1", { resultConfigMap })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new ConfigMapController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeConfigMap(model, "default", "my-config-map")
+        def result = controller.describeConfigMap(model, Mock(WebRequest), "default", "my-config-map").get()
 
         then:
         result == "config_map_describe"
@@ -63,11 +71,11 @@ class ConfigMapControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getConfigMap("default", "my-config-map") >> { throw new ApiException() }
-        def controller = new ConfigMapController(kubeUtil)
+        def controller = new ConfigMapController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeConfigMap(model, "default", "my-config-map")
+        def result = controller.describeConfigMap(model, Mock(WebRequest), "default", "my-config-map").get()
 
         then:
         result == "error"
@@ -1,26 +1,35 @@
 package org.vogel.kubernetes.dashboard.deployment
 
 import io.kubernetes.client.ApiException
+import org.springframework.http.HttpStatus
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageRequest
+import org.vogel.kubernetes.dashboard.ResourceExecutors
+import org.vogel.kubernetes.dashboard.Versioned
 import org.vogel.kubernetes.dashboard.deployment.Deployment
 import org.vogel.kubernetes.dashboard.deployment.DeploymentController
+import org.vogel.kubernetes.dashboard.log.LogMergeService
 import spock.lang.Specification
 
 class DeploymentControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of Deployments"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultDeployment = Mock(Deployment)
         def resultList = [resultDeployment]
-        kubeUtil.getDeployments("default") >> resultList
+        kubeUtil.getDeployments("default", _) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new DeploymentController(kubeUtil)
+        def controller = new DeploymentController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listDeployments(model, "default")
+        def result = controller.listDeployments(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "deployments"
@@ -32,12 +41,12 @@ class DeploymentControllerSpec extends Specification {
     def "test getting a list of Deployments with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getDeployments("default") >> { throw new ApiException() }
-        def controller = new DeploymentController(kubeUtil)
+        kubeUtil.getDeployments("default", _) >> { throw new ApiException() }
+        def controller = new DeploymentController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listDeployments(model, "default")
+        def result = controller.listDeployments(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -47,12 +56,13 @@ class DeploymentControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultDeployment = Mock(Deployment)
-        kubeUtil.getDeployment("default", "my-deployment") >> resultDeployment
-        def controller = new DeploymentController(kubeUtil)
+        kubeUtil.getDeployment("default", "my-deployment") >> new Versioned<>("uid", "1", { resultDeployment })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new DeploymentController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeDeployment(model, "default", "my-deployment")
+        def result = controller.describeDeployment(model, Mock(WebRequest), "default", "my-deployment").get()
 
         then:
         result == "deployment_describe"
@@ -65,13 +75,43 @@ class DeploymentControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getDeployment("default", "my-deployment") >> { throw new ApiException() }
-        def controller = new DeploymentController(kubeUtil)
+        def controller = new DeploymentController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeDeployment(model, "default", "my-deployment")
+        def result = controller.describeDeployment(model, Mock(WebRequest), "default", "my-deployment").get()
 
         then:
         result == "error"
     }
+
+    def "test show merged Deployment logs"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def mergeService = Mock(LogMergeService)
+        kubeUtil.getDeploymentPodNames("default", "my-deployment") >> ["pod-a", "pod-b"]
+        def controller = new DeploymentController(kubeUtil, mergeService, executors)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.showDeploymentLogs("default", "my-deployment")
+        result.body.writeTo(out)
+
+        then:
+        result.statusCode == HttpStatus.OK
+        1 * mergeService.merge("default", ["pod-a", "pod-b"], out)
+    }
+
+    def "test show merged Deployment logs with exception"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getDeploymentPodNames("default", "my-deployment") >> { throw new ApiException(404, "not found") }
+        def controller = new DeploymentController(kubeUtil, Mock(LogMergeService), executors)
+
+        when:
+        def result = controller.showDeploymentLogs("default", "my-deployment")
+
+        then:
+        result.statusCode == HttpStatus.NOT_FOUND
+    }
 }
@@ -0,0 +1,143 @@
+package org.vogel.kubernetes.dashboard.event
+
+import io.kubernetes.client.models.V1Event
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1ObjectReference
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.attribute.FileTime
+import java.util.concurrent.TimeUnit
+
+class EventHistorySpec extends Specification {
+    def directory = Files.createTempDirectory("event-history")
+
+    def cleanup() {
+        directory.toFile()
+                .deleteDir()
+    }
+
+    def "events are kept after the api server deletes them"() {
+        given:
+        def history = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.DAYS.toMillis(1))
+        def event = createEvent("1", "pod-uid", "Back-off restarting failed container")
+        history.added(event)
+        history.added(createEvent("2", "other-uid", "Scheduled"))
+
+        when:
+        history.deleted(event)
+
+        then:
+        history.getEvents("pod-uid")*.message == ["Back-off restarting failed container"]
+        history.getEvents("pod-uid")[0].lastTimestamp == event.lastTimestamp
+        history.getEvents("missing-uid") == []
+
+        cleanup:
+        history.shutdown()
+    }
+
+    def "only the latest record of an event is read"() {
+        given:
+        def history = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.DAYS.toMillis(1))
+        def first = createEvent("1", "pod-uid", "Pulling image")
+        history.added(first)
+
+        when:
+        def second = createEvent("1", "pod-uid", "Pulling image")
+        second.count = 2
+        history.updated(first, second)
+
+        then:
+        history.getEvents("pod-uid")*.count == [2]
+
+        cleanup:
+        history.shutdown()
+    }
+
+    def "the history is loaded again after a restart"() {
+        given:
+        def history = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.DAYS.toMillis(1))
+        history.added(createEvent("1", "pod-uid", "Killing"))
+        history.added(createEvent("2", "pod-uid", "Started"))
+        history.shutdown()
+
+        when:
+        def reopened = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.DAYS.toMillis(1))
+
+        then:
+        reopened.getEvents("pod-uid")*.message.sort() == ["Killing", "Started"]
+
+        cleanup:
+        reopened.shutdown()
+    }
+
+    def "a record cut off by a crash is dropped"() {
+        given:
+        def history = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.DAYS.toMillis(1))
+        history.added(createEvent("1", "pod-uid", "Killing"))
+        history.shutdown()
+        def segment = Files.list(directory)
+                .find { Files.size(it) > 0 }
+        segment.toFile() << ([0, 0, 1, 0, 42] as byte[])
+
+        when:
+        def reopened = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.DAYS.toMillis(1))
+        reopened.added(createEvent("2", "pod-uid", "Started"))
+
+        then:
+        reopened.getEvents("pod-uid")*.message.sort() == ["Killing", "Started"]
+
+        cleanup:
+        reopened.shutdown()
+    }
+
+    def "old segments are rotated out by size"() {
+        given:
+        def history = new EventHistory(directory, 1024, 4096, TimeUnit.DAYS.toMillis(1))
+
+        when:
+        100.times {
+            history.added(createEvent("${it}", "pod-uid", "event ${it}"))
+        }
+
+        then:
+        history.getSegmentCount() <= 5
+        history.getEvents("pod-uid").size() < 100
+        history.getEvents("pod-uid")*.message.contains("event 99")
+        !history.getEvents("pod-uid")*.message.contains("event 0")
+
+        cleanup:
+        history.shutdown()
+    }
+
+    def "segments past the maximum age are removed"() {
+        given:
+        def history = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.HOURS.toMillis(1))
+        history.added(createEvent("1", "pod-uid", "Killing"))
+        history.shutdown()
+        Files.list(directory)
+                .each { Files.setLastModifiedTime(it, FileTime.fromMillis(System.currentTimeMillis() -
+                                                                                 TimeUnit.HOURS.toMillis(2))) }
+
+        when:
+        def reopened = new EventHistory(directory, 1 << 20, 1 << 24, TimeUnit.HOURS.toMillis(1))
+
+        then:
+        reopened.getEvents("pod-uid") == []
+        reopened.getSegmentCount() == 1
+
+        cleanup:
+        reopened.shutdown()
+    }
+
+    private static V1Event createEvent(String uid, String objectUid, String message) {
+        def event = new V1Event()
+        event.metadata = new V1ObjectMeta(uid: uid, name: "web-1.${uid}")
+        event.involvedObject = new V1ObjectReference(kind: "Pod", name: "web-1", uid: objectUid)
+        event.lastTimestamp = new DateTime(2018, 6, 5, 15, 4, 5)
+        event.count = 1
+        event.message = message
+        event
+    }
+}
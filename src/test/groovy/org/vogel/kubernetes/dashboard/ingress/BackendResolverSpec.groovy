@@ -0,0 +1,64 @@
+package org.vogel.kubernetes.dashboard.ingress
+
+import io.kubernetes.client.ApiException
+import io.kubernetes.client.models.*
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import spock.lang.Specification
+
+class BackendResolverSpec extends Specification {
+    def "describe a backend by port name and number"() {
+        given:
+        def resolver = new BackendResolver([createService("foo")], [createEndpoints("foo")])
+
+        expect:
+        resolver.describe("foo", "http") == "10.0.0.1:8080"
+        resolver.describe("foo", "80") == "10.0.0.1:8080"
+        resolver.describe("foo", "metrics") == "10.0.0.1:8080,10.0.0.1:9090"
+        resolver.describe("bar", "80") == "<none>"
+    }
+
+    def "load fetches services and endpoints once for the namespace"() {
+        given:
+        def kubeUtils = Mock(KubernetesUtils)
+
+        when:
+        def resolver = BackendResolver.load("default", kubeUtils)
+        resolver.describe("foo", "http")
+        resolver.describe("foo", "http")
+        resolver.describe("foo", "80")
+
+        then:
+        1 * kubeUtils.getKubeServices("default") >> [createService("foo")]
+        1 * kubeUtils.getKubeEndpoints("default") >> [createEndpoints("foo")]
+        0 * _
+    }
+
+    def "load rethrows the ApiException"() {
+        given:
+        def kubeUtils = Mock(KubernetesUtils)
+        kubeUtils.getKubeServices("default") >> { throw new ApiException(403, "forbidden") }
+        kubeUtils.getKubeEndpoints("default") >> []
+
+        when:
+        BackendResolver.load("default", kubeUtils)
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 403
+    }
+
+    private static V1Service createService(String name) {
+        new V1Service().metadata(new V1ObjectMeta().name(name))
+                .spec(new V1ServiceSpec().ports([new V1ServicePort().name("http")
+                                                         .port(80)]))
+    }
+
+    private static V1Endpoints createEndpoints(String name) {
+        def subset = new V1EndpointSubset().addresses([new V1EndpointAddress().ip("10.0.0.1")])
+                .ports([new V1EndpointPort().name("http")
+                                .port(8080), new V1EndpointPort().name("metrics")
+                                .port(9090)])
+        new V1Endpoints().metadata(new V1ObjectMeta().name(name))
+                .subsets([subset])
+    }
+}
@@ -2,23 +2,30 @@ package org.vogel.kubernetes.dashboard.ingress
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageRequest
+import org.vogel.kubernetes.dashboard.ResourceExecutors
+import org.vogel.kubernetes.dashboard.Versioned
 import spock.lang.Specification
 
 class IngressControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of Ingresses"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultIngress = Mock(Ingress)
         def resultList = [resultIngress]
-        kubeUtil.getIngresses("default") >> resultList
+        kubeUtil.getIngresses("default", _) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new IngressController(kubeUtil)
+        def controller = new IngressController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listIngresses(model, "default")
+        def result = controller.listIngresses(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "ingresses"
@@ -30,12 +37,12 @@ class IngressControllerSpec extends Specification {
     def "test getting a list of Ingresses with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getIngresses("default") >> { throw new ApiException() }
-        def controller = new IngressController(kubeUtil)
+        kubeUtil.getIngresses("default", _) >> { throw new ApiException() }
+        def controller = new IngressController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listIngresses(model, "default")
+        def result = controller.listIngresses(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -45,12 +52,13 @@ class IngressControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultIngress = Mock(Ingress)
-        kubeUtil.getIngress("default", "my-ingress") >> resultIngress
-        def controller = new IngressController(kubeUtil)
+        kubeUtil.getIngress("default", "my-ingress") >> new Versioned<>("uid", "1", { resultIngress })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new IngressController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeIngress(model, "default", "my-ingress")
+        def result = controller.describeIngress(model, Mock(WebRequest), "default", "my-ingress").get()
 
         then:
         result == "ingress_describe"
@@ -63,11 +71,11 @@ class IngressControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getIngress("default", "my-ingress") >> { throw new ApiException() }
-        def controller = new IngressController(kubeUtil)
+        def controller = new IngressController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeIngress(model, "default", "my-ingress")
+        def result = controller.describeIngress(model, Mock(WebRequest), "default", "my-ingress").get()
 
         then:
         result == "error"
@@ -2,7 +2,6 @@ package org.vogel.kubernetes.dashboard.ingress
 
 import io.kubernetes.client.custom.IntOrString
 import io.kubernetes.client.models.*
-import org.vogel.kubernetes.dashboard.KubernetesUtils
 import spock.lang.Specification
 
 class IngressRuleSpec extends Specification {
@@ -11,10 +10,10 @@ class IngressRuleSpec extends Specification {
         V1beta1IngressRule kubeIngRule = new V1beta1IngressRule()
         V1beta1HTTPIngressRuleValue httpIngRule = new V1beta1HTTPIngressRuleValue()
         kubeIngRule.setHttp(httpIngRule)
-        KubernetesUtils kubeUtils = Mock(KubernetesUtils)
+        BackendResolver backendResolver = new BackendResolver([], [])
 
         when:
-        def rule = new IngressRule(kubeIngRule, "default", kubeUtils)
+        def rule = new IngressRule(kubeIngRule, backendResolver)
 
         then:
         rule.host == "*"
@@ -38,20 +37,10 @@ class IngressRuleSpec extends Specification {
         V1beta1HTTPIngressRuleValue httpIngRule = new V1beta1HTTPIngressRuleValue()
         httpIngRule.setPaths(ingressPaths)
         kubeIngRule.setHttp(httpIngRule)
-        KubernetesUtils kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
-        List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
-        V1Service service = Mock(V1Service)
-        V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
-        List<V1ServicePort> ports = new ArrayList<>()
-        serviceSpec.ports >> ports
-        service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        BackendResolver backendResolver = new BackendResolver([], [])
 
         when:
-        def rule = new IngressRule(kubeIngRule, "default", kubeUtils)
+        def rule = new IngressRule(kubeIngRule, backendResolver)
 
         then:
         rule.host == "www.abc.com"
@@ -77,20 +66,10 @@ class IngressRuleSpec extends Specification {
         V1beta1HTTPIngressRuleValue httpIngRule = new V1beta1HTTPIngressRuleValue()
         httpIngRule.setPaths(ingressPaths)
         kubeIngRule.setHttp(httpIngRule)
-        KubernetesUtils kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
-        List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
-        V1Service service = Mock(V1Service)
-        V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
-        List<V1ServicePort> ports = new ArrayList<>()
-        serviceSpec.ports >> ports
-        service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        BackendResolver backendResolver = new BackendResolver([], [])
 
         when:
-        def rule = new IngressRule(kubeIngRule, "default", kubeUtils)
+        def rule = new IngressRule(kubeIngRule, backendResolver)
 
         then:
         rule.host == "www.abc.com"
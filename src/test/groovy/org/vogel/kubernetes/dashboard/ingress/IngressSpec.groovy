@@ -2,7 +2,6 @@ package org.vogel.kubernetes.dashboard.ingress
 
 import io.kubernetes.client.custom.IntOrString
 import io.kubernetes.client.models.*
-import org.vogel.kubernetes.dashboard.KubernetesUtils
 import spock.lang.Specification
 
 class IngressSpec extends Specification {
@@ -202,7 +201,7 @@ class IngressSpec extends Specification {
         ingress.rules == null
     }
 
-    def "create an Ingress with KubeUtil"() {
+    def "create an Ingress with a BackendResolver"() {
         given:
         V1beta1Ingress kubeIng = Mock(V1beta1Ingress)
         def metadata = Mock(V1ObjectMeta)
@@ -215,20 +214,10 @@ class IngressSpec extends Specification {
         V1LoadBalancerStatus loadBalancer = Mock(V1LoadBalancerStatus)
         status.loadBalancer >> loadBalancer
         kubeIng.status >> status
-        def kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
-        List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
-        V1Service service = Mock(V1Service)
-        V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
-        List<V1ServicePort> ports = new ArrayList<>()
-        serviceSpec.ports >> ports
-        service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        def backendResolver = new BackendResolver([], [])
 
         when:
-        def ingress = new Ingress(kubeIng, kubeUtils)
+        def ingress = new Ingress(kubeIng, backendResolver)
 
         then:
         ingress.hosts == "*"
@@ -239,7 +228,7 @@ class IngressSpec extends Specification {
         ingress.rules.size() == 0
     }
 
-    def "create an Ingress with KubeUtil with backend"() {
+    def "create an Ingress with a BackendResolver with backend"() {
         given:
         V1beta1Ingress kubeIng = Mock(V1beta1Ingress)
         def metadata = Mock(V1ObjectMeta)
@@ -263,20 +252,10 @@ class IngressSpec extends Specification {
         V1LoadBalancerStatus loadBalancer = Mock(V1LoadBalancerStatus)
         status.loadBalancer >> loadBalancer
         kubeIng.status >> status
-        def kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
-        List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
-        V1Service service = Mock(V1Service)
-        V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
-        List<V1ServicePort> ports = new ArrayList<>()
-        serviceSpec.ports >> ports
-        service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        def backendResolver = new BackendResolver([], [])
 
         when:
-        def ingress = new Ingress(kubeIng, kubeUtils)
+        def ingress = new Ingress(kubeIng, backendResolver)
 
         then:
         ingress.hosts == "www.abc.com"
@@ -291,7 +270,7 @@ class IngressSpec extends Specification {
 
     }
 
-    def "create an Ingress with KubeUtil with backend port is int"() {
+    def "create an Ingress with a BackendResolver with backend port is int"() {
         given:
         V1beta1Ingress kubeIng = Mock(V1beta1Ingress)
         def metadata = Mock(V1ObjectMeta)
@@ -308,20 +287,10 @@ class IngressSpec extends Specification {
         V1LoadBalancerStatus loadBalancer = Mock(V1LoadBalancerStatus)
         status.loadBalancer >> loadBalancer
         kubeIng.status >> status
-        def kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
-        List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
-        V1Service service = Mock(V1Service)
-        V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
-        List<V1ServicePort> ports = new ArrayList<>()
-        serviceSpec.ports >> ports
-        service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        def backendResolver = new BackendResolver([], [])
 
         when:
-        def ingress = new Ingress(kubeIng, kubeUtils)
+        def ingress = new Ingress(kubeIng, backendResolver)
 
         then:
         ingress.hosts == "*"
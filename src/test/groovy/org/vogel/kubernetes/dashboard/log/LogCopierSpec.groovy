@@ -0,0 +1,55 @@
+package org.vogel.kubernetes.dashboard.log
+
+import spock.lang.Specification
+
+import java.util.zip.GZIPInputStream
+
+class LogCopierSpec extends Specification {
+    def "tabs are expanded while copying"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def copied = LogCopier.copy(new ByteArrayInputStream("a\tb\n\t\tc ü\n".getBytes("UTF-8")), out)
+
+        then:
+        copied == 11
+        out.toString("UTF-8") == "a        b\n                c ü\n"
+    }
+
+    def "logs larger than the buffer are copied in chunks"() {
+        given:
+        def line = "x" * 100 + "\t\n"
+        def input = line * 500
+        def out = new ByteArrayOutputStream()
+        def flushes = 0
+        def flushCounting = new FilterOutputStream(out) {
+            @Override
+            void flush() {
+                flushes++
+                super.flush()
+            }
+        }
+
+        when:
+        LogCopier.copy(new ByteArrayInputStream(input.getBytes("UTF-8")), flushCounting)
+
+        then:
+        out.toString("UTF-8") == input.replace("\t", " " * 8)
+        flushes > 1
+    }
+
+    def "logs are gzipped unchanged"() {
+        given:
+        def input = ("x" * 100 + "\t\n") * 2000
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def copied = LogCopier.compress(new ByteArrayInputStream(input.getBytes("UTF-8")), out)
+
+        then:
+        copied == input.length()
+        out.size() < input.length()
+        new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).getText("UTF-8") == input
+    }
+}
@@ -0,0 +1,78 @@
+package org.vogel.kubernetes.dashboard.log
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicInteger
+
+class LogFollowServiceSpec extends Specification {
+    def conditions = new PollingConditions(timeout: 5)
+
+    def "followers of the same pod share one stream"() {
+        given:
+        def upstream = new PipedOutputStream()
+        def input = new PipedInputStream(upstream)
+        def opened = new AtomicInteger()
+        def service = new LogFollowService({ namespace, podName ->
+            opened.incrementAndGet()
+            input
+        } as LogFollowService.LogOpener, 10, 60000, 8)
+
+        when:
+        def first = service.follow("default", "my-pod")
+        def second = service.follow("default", "my-pod")
+        service.follow("default", "other-pod")
+
+        then:
+        first != second
+        conditions.eventually {
+            assert opened.get() == 2
+        }
+        service.followerCount == 2
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "a follower goes away when the log ends"() {
+        given:
+        def upstream = new PipedOutputStream()
+        def input = new PipedInputStream(upstream)
+        def service = new LogFollowService({ namespace, podName -> input } as LogFollowService.LogOpener, 10, 60000, 8)
+
+        when:
+        service.follow("default", "my-pod")
+        upstream.write("first\tline\n".getBytes("UTF-8"))
+        upstream.close()
+
+        then:
+        conditions.eventually {
+            assert service.followerCount == 0
+        }
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "followers beyond the limit are rejected"() {
+        given:
+        def upstream = new PipedOutputStream()
+        def input = new PipedInputStream(upstream)
+        def service = new LogFollowService({ namespace, podName -> input } as LogFollowService.LogOpener, 10, 60000,
+                                           2)
+        service.follow("default", "my-pod")
+        service.follow("default", "my-pod")
+
+        when:
+        service.follow("default", "other-pod")
+
+        then:
+        thrown(RejectedExecutionException)
+        service.subscriberCount == 2
+        service.followerCount == 1
+
+        cleanup:
+        service.shutdown()
+    }
+}
@@ -0,0 +1,189 @@
+package org.vogel.kubernetes.dashboard.log
+
+import io.kubernetes.client.ApiException
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import static org.vogel.kubernetes.dashboard.ApiRateLimiter.Priority.BULK
+
+class LogMergeServiceSpec extends Specification {
+    def logs = [
+            "web-1": "2018-06-05T15:04:05.1Z first\n2018-06-05T15:04:07Z fourth\n",
+            "web-2": "2018-06-05T15:04:05.12Z second\n2018-06-05T15:04:06.5Z third\n\tcontinued\n",
+    ]
+
+    def "logs are merged in timestamp order"() {
+        given:
+        def service = new LogMergeService({ namespace, podName -> stream(logs[podName]) } as LogMergeService.LogOpener,
+                                          20, 2)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        service.merge("default", ["web-1", "web-2"], out)
+
+        then:
+        out.toString("UTF-8") == """web-1 | 2018-06-05T15:04:05.1Z first
+web-2 | 2018-06-05T15:04:05.12Z second
+web-2 | 2018-06-05T15:04:06.5Z third
+web-2 |         continued
+web-1 | 2018-06-05T15:04:07Z fourth
+"""
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "merged streams are opened at bulk priority"() {
+        given:
+        def kubeUtils = Mock(KubernetesUtils)
+        def service = new LogMergeService(kubeUtils, 20, 2)
+
+        when:
+        service.merge("default", ["web-1"], new ByteArrayOutputStream())
+
+        then:
+        1 * kubeUtils.streamPodLogs("default", "web-1", LogOptions.ALL, true, BULK) >> stream(logs["web-1"])
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "only the first pods are merged and the output says so"() {
+        given:
+        def opened = []
+        def service = new LogMergeService({ namespace, podName ->
+            synchronized (opened) {
+                opened << podName
+            }
+            stream("")
+        } as LogMergeService.LogOpener, 1, 2)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        service.merge("default", ["web-1", "web-2", "web-3"], out)
+
+        then:
+        def truncated = "-- truncated: only the logs of the first 1 of 3 pods are merged, left out: web-2, web-3\n"
+        opened == ["web-1"]
+        out.toString("UTF-8") == truncated + truncated
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "pods whose logs can't be read are reported"() {
+        given:
+        def service = new LogMergeService({ namespace, podName ->
+            if (podName == "web-2") {
+                throw new ApiException("container is waiting")
+            }
+            stream(logs[podName])
+        } as LogMergeService.LogOpener, 20, 2)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        service.merge("default", ["web-1", "web-2"], out)
+
+        then:
+        out.toString("UTF-8").startsWith("-- unable to read the logs of pod web-2: container is waiting\n" +
+                                                 "web-1 | 2018-06-05T15:04:05.1Z first\n")
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "streams opened for an interrupted merge are closed"() {
+        given:
+        def started = new CountDownLatch(2)
+        def release = new CountDownLatch(1)
+        def closed = []
+        def service = new LogMergeService({ namespace, podName ->
+            started.countDown()
+            // like a blocking connect, opening ignores the interrupt
+            while (true) {
+                try {
+                    release.await()
+                    break
+                } catch (InterruptedException ignored) {
+                }
+            }
+            new ByteArrayInputStream(new byte[0]) {
+                @Override
+                void close() {
+                    synchronized (closed) {
+                        closed << podName
+                    }
+                }
+            }
+        } as LogMergeService.LogOpener, 20, 2)
+        def failure = null
+        def merging = Thread.start {
+            try {
+                service.merge("default", ["web-1", "web-2"], new ByteArrayOutputStream())
+            } catch (IOException e) {
+                failure = e
+            }
+        }
+        started.await(5, TimeUnit.SECONDS)
+
+        when:
+        merging.interrupt()
+        merging.join(5000)
+        release.countDown()
+        service.shutdown()
+        service.openExecutor.awaitTermination(5, TimeUnit.SECONDS)
+
+        then:
+        failure instanceof IOException
+        closed.sort() == ["web-1", "web-2"]
+    }
+
+    def "streams are closed when reporting a failure fails"() {
+        given:
+        def closed = []
+        def secondOpening = new CountDownLatch(1)
+        def service = new LogMergeService({ namespace, podName ->
+            if (podName == "web-1") {
+                // fails only once web-2 is being opened, so that its task isn't cancelled before it runs
+                secondOpening.await(5, TimeUnit.SECONDS)
+                // long enough for the writer to pass the report straight on to the browser
+                throw new ApiException("x" * 16384)
+            }
+            secondOpening.countDown()
+            new ByteArrayInputStream(new byte[0]) {
+                @Override
+                void close() {
+                    synchronized (closed) {
+                        closed << podName
+                    }
+                }
+            }
+        } as LogMergeService.LogOpener, 20, 2)
+        def gone = new OutputStream() {
+            @Override
+            void write(int b) {
+                throw new IOException("broken pipe")
+            }
+        }
+
+        when:
+        service.merge("default", ["web-1", "web-2"], gone)
+
+        then:
+        thrown(IOException)
+
+        when:
+        service.shutdown()
+        service.openExecutor.awaitTermination(5, TimeUnit.SECONDS)
+
+        then:
+        closed == ["web-2"]
+    }
+
+    private static InputStream stream(String text) {
+        new ByteArrayInputStream(text.getBytes("UTF-8"))
+    }
+}
@@ -0,0 +1,35 @@
+package org.vogel.kubernetes.dashboard.log
+
+import spock.lang.Specification
+
+class LogOptionsSpec extends Specification {
+    def "missing and negative limits mean no limit"() {
+        when:
+        def options = new LogOptions(tailLines, sinceSeconds, limitBytes)
+
+        then:
+        options.tailLines == expectedTail
+        options.sinceSeconds == expectedSince
+        options.limitBytes == expectedLimit
+        options.bounded == bounded
+
+        where:
+        tailLines | sinceSeconds | limitBytes || expectedTail | expectedSince | expectedLimit | bounded
+        null      | null         | null       || 0            | 0             | 0             | false
+        -1        | 0            | -5         || 0            | 0             | 0             | false
+        1000      | null         | 1048576    || 1000         | 0             | 1048576       | true
+        0         | 3600         | 0          || 0            | 3600          | 0             | true
+    }
+
+    def "earlier widens every bounded limit"() {
+        expect:
+        new LogOptions(tailLines, sinceSeconds, limitBytes).earlier() == new LogOptions(earlierTail, earlierSince,
+                                                                                        earlierLimit)
+
+        where:
+        tailLines         | sinceSeconds | limitBytes || earlierTail       | earlierSince | earlierLimit
+        1000              | 0            | 1048576    || 4000              | 0            | 4194304
+        0                 | 60           | 0          || 0                 | 240          | 0
+        Integer.MAX_VALUE | 0            | 0          || Integer.MAX_VALUE | 0            | 0
+    }
+}
@@ -0,0 +1,99 @@
+package org.vogel.kubernetes.dashboard.log
+
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.TimeUnit
+import java.util.regex.Pattern
+
+class LogSearchSpec extends Specification {
+    def "matches are written with their context"() {
+        given:
+        def log = (1..12).collect { it in [3, 10] ? "line $it ERROR" : "line $it" }
+                .join("\n")
+        def out = new StringWriter()
+
+        when:
+        def matches = new LogSearch(Pattern.compile("ERROR"), 1, 100).search(stream(log), out)
+
+        then:
+        matches == 2
+        out.toString() == """2-line 2
+3:line 3 ERROR
+4-line 4
+--
+9-line 9
+10:line 10 ERROR
+11-line 11
+-- 2 matches in 12 lines
+"""
+    }
+
+    def "overlapping context is not repeated"() {
+        given:
+        def out = new StringWriter()
+
+        when:
+        new LogSearch(Pattern.compile("x"), 2, 100).search(stream("a\nx\nb\nx\nc"), out)
+
+        then:
+        out.toString() == "1-a\n2:x\n3-b\n4:x\n5-c\n-- 2 matches in 5 lines\n"
+    }
+
+    def "the search stops at the match cap"() {
+        given:
+        def out = new StringWriter()
+        def input = new ByteArrayInputStream((("x\n" * 10) + ("y\n" * 100000)).getBytes("UTF-8"))
+
+        when:
+        def matches = new LogSearch(Pattern.compile("x"), 0, 3).search(input, out)
+
+        then:
+        matches == 3
+        out.toString() == "1:x\n2:x\n3:x\n-- stopped after 3 matches\n"
+        input.available() > 0
+    }
+
+    def "the search stops at the time limit"() {
+        given:
+        def out = new StringWriter()
+
+        when:
+        def matches = new LogSearch(Pattern.compile("x"), 0, 3, 0).search(stream("y\n" * 5000), out)
+
+        then:
+        matches == 0
+        out.toString() == "-- stopped after 0 seconds at line 1 with 0 matches\n"
+    }
+
+    @Timeout(10)
+    def "a backtracking pattern is stopped within its line"() {
+        given:
+        def out = new StringWriter()
+        def limit = TimeUnit.MILLISECONDS.toNanos(200)
+
+        when:
+        def matches = new LogSearch(Pattern.compile("(.*a){20}\$"), 0, 3, limit).search(stream("a" * 64 + "!\nx\n"), out)
+
+        then:
+        matches == 0
+        out.toString() == "-- stopped after 0 seconds at line 1 with 0 matches\n"
+    }
+
+    def "only the start of a very long line is searched"() {
+        given:
+        def out = new StringWriter()
+        def longLine = "a" * LogSearch.MAX_LINE_LENGTH + "ERROR"
+
+        when:
+        def matches = new LogSearch(Pattern.compile("ERROR|b"), 0, 100).search(stream(longLine + "\r\nb\n"), out)
+
+        then:
+        matches == 1
+        out.toString() == "2:b\n-- 1 matches in 2 lines\n"
+    }
+
+    private static InputStream stream(String text) {
+        new ByteArrayInputStream(text.getBytes("UTF-8"))
+    }
+}
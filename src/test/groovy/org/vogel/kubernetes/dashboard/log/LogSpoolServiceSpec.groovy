@@ -0,0 +1,143 @@
+package org.vogel.kubernetes.dashboard.log
+
+import io.kubernetes.client.ApiException
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class LogSpoolServiceSpec extends Specification {
+    def kubeUtils = Mock(KubernetesUtils)
+
+    def "the tail is read from one spooled download"() {
+        given:
+        def service = new LogSpoolService(kubeUtils, 300, 32)
+
+        when:
+        def tail = service.getLines("default", "my-pod", LogOptions.ALL, -1, 2, false)
+        def head = service.getLines("default", "my-pod", LogOptions.ALL, 0, 1, false)
+
+        then:
+        1 * kubeUtils.streamPodLogs("default", "my-pod", LogOptions.ALL) >> stream("a\nb\nc\n")
+        tail.from == 1
+        tail.total == 3
+        tail.lines == ["b", "c"]
+        head.lines == ["a"]
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "refresh downloads the log again"() {
+        given:
+        def service = new LogSpoolService(kubeUtils, 300, 32)
+
+        when:
+        service.getLines("default", "my-pod", LogOptions.ALL, 0, 10, false)
+        def refreshed = service.getLines("default", "my-pod", LogOptions.ALL, 0, 10, true)
+
+        then:
+        2 * kubeUtils.streamPodLogs("default", "my-pod", LogOptions.ALL) >>> [stream("a\n"), stream("a\nb\n")]
+        refreshed.lines == ["a", "b"]
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "the least recently read spool is evicted"() {
+        given:
+        def service = new LogSpoolService(kubeUtils, 300, 1)
+
+        when:
+        service.getLines("default", "first", LogOptions.ALL, 0, 10, false)
+        service.getLines("default", "second", LogOptions.ALL, 0, 10, false)
+        service.getLines("default", "first", LogOptions.ALL, 0, 10, false)
+
+        then:
+        2 * kubeUtils.streamPodLogs("default", "first", LogOptions.ALL) >> { stream("1\n") }
+        1 * kubeUtils.streamPodLogs("default", "second", LogOptions.ALL) >> { stream("2\n") }
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "a spool that is being downloaded is neither evicted nor waited for"() {
+        given:
+        def service = new LogSpoolService(kubeUtils, 300, 1)
+        def downloading = new CountDownLatch(1)
+        def upstream = new PipedOutputStream()
+        // answers at once, the download then waits on the body the way a slow log stream would
+        def body = new PipedInputStream(upstream) {
+            @Override
+            int read(byte[] buffer, int offset, int length) {
+                downloading.countDown()
+                super.read(buffer, offset, length)
+            }
+        }
+        kubeUtils.streamPodLogs("default", "first", LogOptions.ALL) >> body
+        def pool = Executors.newSingleThreadExecutor()
+        def first = pool.submit({ service.getLines("default", "first", LogOptions.ALL, 0, 10, false) } as Callable)
+        downloading.await()
+
+        when:
+        service.getLines("default", "second", LogOptions.ALL, 0, 10, false)
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 503
+        0 * kubeUtils.streamPodLogs("default", "second", _)
+
+        when:
+        upstream.write("1\n".getBytes("UTF-8"))
+        upstream.close()
+
+        then:
+        first.get(5, TimeUnit.SECONDS).lines == ["1"]
+
+        cleanup:
+        upstream.close()
+        pool.shutdownNow()
+        service.shutdown()
+    }
+
+    def "a different window of the log is spooled again"() {
+        given:
+        def service = new LogSpoolService(kubeUtils, 300, 32)
+        def tail = new LogOptions(1, null, null)
+
+        when:
+        def last = service.getLines("default", "my-pod", tail, -1, 10, false)
+        service.getLines("default", "my-pod", tail, 0, 10, false)
+        def all = service.getLines("default", "my-pod", LogOptions.ALL, 0, 10, false)
+
+        then:
+        1 * kubeUtils.streamPodLogs("default", "my-pod", tail) >> stream("c\n")
+        1 * kubeUtils.streamPodLogs("default", "my-pod", LogOptions.ALL) >> stream("a\nb\nc\n")
+        last.lines == ["c"]
+        all.lines == ["a", "b", "c"]
+
+        cleanup:
+        service.shutdown()
+    }
+
+    def "shutting down removes the spool directory"() {
+        given:
+        def service = new LogSpoolService(kubeUtils, 300, 32)
+        kubeUtils.streamPodLogs("default", "my-pod", LogOptions.ALL) >> stream("a\n")
+        service.getLines("default", "my-pod", LogOptions.ALL, 0, 10, false)
+
+        when:
+        service.shutdown()
+
+        then:
+        !Files.exists(service.directory)
+    }
+
+    private static InputStream stream(String text) {
+        new ByteArrayInputStream(text.getBytes("UTF-8"))
+    }
+}
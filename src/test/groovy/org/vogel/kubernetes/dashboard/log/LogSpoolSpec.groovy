@@ -0,0 +1,87 @@
+package org.vogel.kubernetes.dashboard.log
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class LogSpoolSpec extends Specification {
+    def directory = Files.createTempDirectory("log-spool-spec")
+
+    def cleanup() {
+        directory.toFile()
+                .deleteDir()
+    }
+
+    def "lines are read from anywhere in the spool"() {
+        given:
+        def text = (0..<3000).collect { "line $it" }
+                .join("\n") + "\n"
+        def spool = LogSpool.create(new ByteArrayInputStream(text.getBytes("UTF-8")), directory)
+
+        expect:
+        spool.lineCount == 3000
+        spool.getLines(0, 2) == ["line 0", "line 1"]
+        spool.getLines(1023, 3) == ["line 1023", "line 1024", "line 1025"]
+        spool.getLines(2998, 10) == ["line 2998", "line 2999"]
+        spool.getLines(3000, 10) == []
+
+        cleanup:
+        spool.close()
+    }
+
+    def "tabs, carriage returns and a missing last newline are handled"() {
+        given:
+        def spool = LogSpool.create(new ByteArrayInputStream("a\tb\r\n\nü last".getBytes("UTF-8")), directory)
+
+        expect:
+        spool.lineCount == 3
+        spool.getLines(0, 3) == ["a        b", "", "ü last"]
+
+        cleanup:
+        spool.close()
+    }
+
+    def "an empty log has no lines"() {
+        given:
+        def spool = LogSpool.create(new ByteArrayInputStream(new byte[0]), directory)
+
+        expect:
+        spool.lineCount == 0
+        spool.getLines(0, 10) == []
+
+        cleanup:
+        spool.close()
+    }
+
+    def "closing removes the file"() {
+        given:
+        def spool = LogSpool.create(new ByteArrayInputStream("a\n".getBytes("UTF-8")), directory)
+
+        when:
+        spool.close()
+
+        then:
+        Files.list(directory)
+                .count() == 0
+    }
+
+    def "a spool closed while it is read is removed once the reader releases it"() {
+        given:
+        def spool = LogSpool.create(new ByteArrayInputStream("a\nb\n".getBytes("UTF-8")), directory)
+        spool.retain()
+
+        when:
+        spool.close()
+
+        then:
+        spool.getLines(1, 1) == ["b"]
+        !spool.retain()
+
+        when:
+        spool.release()
+
+        then:
+        Files.list(directory)
+                .count() == 0
+    }
+}
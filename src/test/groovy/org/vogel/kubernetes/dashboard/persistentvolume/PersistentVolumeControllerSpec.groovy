@@ -2,23 +2,30 @@ package org.vogel.kubernetes.dashboard.persistentvolume
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageRequest
+import org.vogel.kubernetes.dashboard.ResourceExecutors
+import org.vogel.kubernetes.dashboard.Versioned
 import spock.lang.Specification
 
 class PersistentVolumeControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of PersistentVolumes"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolume = Mock(PersistentVolume)
         def resultList = [resultPersistentVolume]
-        kubeUtil.getPersistentVolumes() >> resultList
+        kubeUtil.getPersistentVolumes(_) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new PersistentVolumeController(kubeUtil)
+        def controller = new PersistentVolumeController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listPersistentVolumes(model, "default")
+        def result = controller.listPersistentVolumes(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "persistent_volumes"
@@ -30,12 +37,12 @@ class PersistentVolumeControllerSpec extends Specification {
     def "test getting a list of PersistentVolumes with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPersistentVolumes() >> { throw new ApiException() }
-        def controller = new PersistentVolumeController(kubeUtil)
+        kubeUtil.getPersistentVolumes(_) >> { throw new ApiException() }
+        def controller = new PersistentVolumeController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listPersistentVolumes(model, "default")
+        def result = controller.listPersistentVolumes(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -45,12 +52,14 @@ class PersistentVolumeControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolume = Mock(PersistentVolume)
-        kubeUtil.getPersistentVolume("my-persistent-volume") >> resultPersistentVolume
-        def controller = new PersistentVolumeController(kubeUtil)
+        kubeUtil.getPersistentVolume("my-persistent-volume") >> new Versioned<>("uid", "1", { resultPersistentVolume })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new PersistentVolumeController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describePersistentVolume(model, "default", "my-persistent-volume")
+        def result = controller.describePersistentVolume(model, Mock(WebRequest), "default", "my-persistent-volume")
+                .get()
 
         then:
         result == "persistent_volume_describe"
@@ -63,11 +72,12 @@ class PersistentVolumeControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getPersistentVolume("my-persistent-volume") >> { throw new ApiException() }
-        def controller = new PersistentVolumeController(kubeUtil)
+        def controller = new PersistentVolumeController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describePersistentVolume(model, "default", "my-persistent-volume")
+        def result = controller.describePersistentVolume(model, Mock(WebRequest), "default", "my-persistent-volume")
+                .get()
 
         then:
         result == "error"
@@ -2,23 +2,30 @@ package org.vogel.kubernetes.dashboard.persistentvolumeclaim
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageRequest
+import org.vogel.kubernetes.dashboard.ResourceExecutors
+import org.vogel.kubernetes.dashboard.Versioned
 import spock.lang.Specification
 
 class PersistentVolumeClaimControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of PersistentVolumeClaims"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolumeClaim = Mock(PersistentVolumeClaim)
         def resultList = [resultPersistentVolumeClaim]
-        kubeUtil.getPersistentVolumeClaims("default") >> resultList
+        kubeUtil.getPersistentVolumeClaims("default", _) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        def controller = new PersistentVolumeClaimController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listPersistentVolumeClaims(model, "default")
+        def result = controller.listPersistentVolumeClaims(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "persistent_volume_claims"
@@ -30,12 +37,12 @@ class PersistentVolumeClaimControllerSpec extends Specification {
     def "test getting a list of PersistentVolumeClaims with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPersistentVolumeClaims("default") >> { throw new ApiException() }
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        kubeUtil.getPersistentVolumeClaims("default", _) >> { throw new ApiException() }
+        def controller = new PersistentVolumeClaimController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listPersistentVolumeClaims(model, "default")
+        def result = controller.listPersistentVolumeClaims(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -45,12 +52,14 @@ class PersistentVolumeClaimControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolumeClaim = Mock(PersistentVolumeClaim)
-        kubeUtil.getPersistentVolumeClaim("default", "my-persistent-volume-claim") >> resultPersistentVolumeClaim
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        kubeUtil.getPersistentVolumeClaim("default", "my-persistent-volume-claim") >> new Versioned<>("uid", "1", { resultPersistentVolumeClaim })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new PersistentVolumeClaimController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describePersistentVolumeClaim(model, "default", "my-persistent-volume-claim")
+        def result = controller.describePersistentVolumeClaim(model, Mock(WebRequest), "default", "my-persistent-volume-claim")
+                .get()
 
         then:
         result == "persistent_volume_claim_describe"
@@ -63,11 +72,12 @@ class PersistentVolumeClaimControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getPersistentVolumeClaim("default", "my-persistent-volume-claim") >> { throw new ApiException() }
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        def controller = new PersistentVolumeClaimController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describePersistentVolumeClaim(model, "default", "my-persistent-volume-claim")
+        def result = controller.describePersistentVolumeClaim(model, Mock(WebRequest), "default", "my-persistent-volume-claim")
+                .get()
 
         then:
         result == "error"
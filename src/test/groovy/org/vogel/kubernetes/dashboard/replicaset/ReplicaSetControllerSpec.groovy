@@ -1,26 +1,35 @@
 package org.vogel.kubernetes.dashboard.replicaset
 
 import io.kubernetes.client.ApiException
+import org.springframework.http.HttpStatus
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageRequest
+import org.vogel.kubernetes.dashboard.ResourceExecutors
+import org.vogel.kubernetes.dashboard.Versioned
 import org.vogel.kubernetes.dashboard.replicaset.ReplicaSet
 import org.vogel.kubernetes.dashboard.replicaset.ReplicaSetController
+import org.vogel.kubernetes.dashboard.log.LogMergeService
 import spock.lang.Specification
 
 class ReplicaSetControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of ReplicaSets"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultReplicaSet = Mock(ReplicaSet)
         def resultList = [resultReplicaSet]
-        kubeUtil.getReplicaSets("default") >> resultList
+        kubeUtil.getReplicaSets("default", _) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new ReplicaSetController(kubeUtil)
+        def controller = new ReplicaSetController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listReplicaSets(model, "default")
+        def result = controller.listReplicaSets(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "replica_sets"
@@ -32,12 +41,12 @@ class ReplicaSetControllerSpec extends Specification {
     def "test getting a list of ReplicaSets with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getReplicaSets("default") >> { throw new ApiException() }
-        def controller = new ReplicaSetController(kubeUtil)
+        kubeUtil.getReplicaSets("default", _) >> { throw new ApiException() }
+        def controller = new ReplicaSetController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listReplicaSets(model, "default")
+        def result = controller.listReplicaSets(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -47,12 +56,13 @@ class ReplicaSetControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultReplicaSet = Mock(ReplicaSet)
-        kubeUtil.getReplicaSet("default", "my-replica-set") >> resultReplicaSet
-        def controller = new ReplicaSetController(kubeUtil)
+        kubeUtil.getReplicaSet("default", "my-replica-set") >> new Versioned<>("uid", "1", { resultReplicaSet })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new ReplicaSetController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeReplicaSet(model, "default", "my-replica-set")
+        def result = controller.describeReplicaSet(model, Mock(WebRequest), "default", "my-replica-set").get()
 
         then:
         result == "replica_set_describe"
@@ -65,13 +75,43 @@ class ReplicaSetControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getReplicaSet("default", "my-replica-set") >> { throw new ApiException() }
-        def controller = new ReplicaSetController(kubeUtil)
+        def controller = new ReplicaSetController(kubeUtil, Mock(LogMergeService), executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeReplicaSet(model, "default", "my-replica-set")
+        def result = controller.describeReplicaSet(model, Mock(WebRequest), "default", "my-replica-set").get()
 
         then:
         result == "error"
     }
+
+    def "test show merged ReplicaSet logs"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def mergeService = Mock(LogMergeService)
+        kubeUtil.getReplicaSetPodNames("default", "my-replica-set") >> ["pod-a", "pod-b"]
+        def controller = new ReplicaSetController(kubeUtil, mergeService, executors)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.showReplicaSetLogs("default", "my-replica-set")
+        result.body.writeTo(out)
+
+        then:
+        result.statusCode == HttpStatus.OK
+        1 * mergeService.merge("default", ["pod-a", "pod-b"], out)
+    }
+
+    def "test show merged ReplicaSet logs with exception"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getReplicaSetPodNames("default", "my-replica-set") >> { throw new ApiException(404, "not found") }
+        def controller = new ReplicaSetController(kubeUtil, Mock(LogMergeService), executors)
+
+        when:
+        def result = controller.showReplicaSetLogs("default", "my-replica-set")
+
+        then:
+        result.statusCode == HttpStatus.NOT_FOUND
+    }
 }
@@ -2,23 +2,30 @@ package org.vogel.kubernetes.dashboard.service
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageRequest
+import org.vogel.kubernetes.dashboard.ResourceExecutors
+import org.vogel.kubernetes.dashboard.Versioned
 import spock.lang.Specification
 
 class ServiceControllerSpec extends Specification {
+    def executors = new ResourceExecutors(2, 4)
+
     def "test getting a list of Services"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultService = Mock(Service)
         def resultList = [resultService]
-        kubeUtil.getServices("default") >> resultList
+        kubeUtil.getServices("default", _) >> new Page<>(resultList, PageRequest.firstPage(100), null)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new ServiceController(kubeUtil)
+        def controller = new ServiceController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listServices(model, "default")
+        def result = controller.listServices(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "services"
@@ -30,12 +37,12 @@ class ServiceControllerSpec extends Specification {
     def "test getting a list of Services with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getServices("default") >> { throw new ApiException() }
-        def controller = new ServiceController(kubeUtil)
+        kubeUtil.getServices("default", _) >> { throw new ApiException() }
+        def controller = new ServiceController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.listServices(model, "default")
+        def result = controller.listServices(model, Mock(WebRequest), "default", 100, null, null).get()
 
         then:
         result == "error"
@@ -45,12 +52,13 @@ class ServiceControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultService = Mock(Service)
-        kubeUtil.getService("default", "my-service") >> resultService
-        def controller = new ServiceController(kubeUtil)
+        kubeUtil.getService("default", "my-service") >> new Versioned<>("uid", "1", { resultService })
+        kubeUtil.getEvents(*_) >> new Versioned<>(null, "1", { [] })
+        def controller = new ServiceController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeService(model, "default", "my-service")
+        def result = controller.describeService(model, Mock(WebRequest), "default", "my-service").get()
 
         then:
         result == "service_describe"
@@ -63,11 +71,11 @@ class ServiceControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getService("default", "my-service") >> { throw new ApiException() }
-        def controller = new ServiceController(kubeUtil)
+        def controller = new ServiceController(kubeUtil, executors)
         def model = Mock(Model)
 
         when:
-        def result = controller.describeService(model, "default", "my-service")
+        def result = controller.describeService(model, Mock(WebRequest), "default", "my-service").get()
 
         then:
         result == "error"